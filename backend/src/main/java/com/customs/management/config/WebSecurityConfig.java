@@ -2,18 +2,35 @@ package com.customs.management.config;
 
 import com.customs.management.security.AuthEntryPointJwt;
 import com.customs.management.security.AuthTokenFilter;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.security.BoundedPasswordEncoder;
+import com.customs.management.security.EnumAuthorityAuthorizationManager;
+import com.customs.management.security.PasswordEncoderCalibrator;
+import com.customs.management.security.RequiresAuthority;
+import com.customs.management.security.RequiresAuthorityAuthorizationManager;
 import com.customs.management.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,18 +39,45 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(WebSecurityConfig.class);
+    
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
     
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
     
+    // Encoder used for new and upgraded hashes: bcrypt or pbkdf2
+    @Value("${security.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+    
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    // When enabled, the BCrypt strength is measured at startup to hit the target verification time
+    @Value("${security.password.calibrate:false}")
+    private boolean calibratePasswordEncoder;
+    
+    @Value("${security.password.calibration-target-ms:250}")
+    private long calibrationTargetMs;
+    
+    @Value("${security.password.verify-pool-size:4}")
+    private int verifyPoolSize;
+    
+    @Value("${security.password.verify-queue-capacity:64}")
+    private int verifyQueueCapacity;
+    
+    @Value("${security.password.verify-timeout-ms:5000}")
+    private long verifyTimeoutMs;
+    
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -44,6 +88,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-encodes the password on successful login when the stored hash is outdated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -52,9 +98,36 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength;
+        // BCrypt stores its cost in the hash, so a different strength still verifies old hashes and
+        // upgrades them on login. PBKDF2 hashes carry no iteration count and stay on a fixed one.
+        if (calibratePasswordEncoder) {
+            strength = PasswordEncoderCalibrator.calibrateBcryptStrength(calibrationTargetMs, bcryptStrength);
+            logger.info("Calibrated bcrypt strength {} for {} ms", strength, calibrationTargetMs);
+        }
+        
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(strength));
+        encoders.put("pbkdf2", PasswordEncoderCalibrator.pbkdf2());
+        
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        
+        return new BoundedPasswordEncoder(delegatingEncoder, verifyPoolSize, verifyQueueCapacity, verifyTimeoutMs);
+    }
+    
+    // Enforces @RequiresAuthority with bitset checks, alongside the regular @PreAuthorize support
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresAuthorityAdvisor() {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                new AnnotationMatchingPointcut(null, RequiresAuthority.class, true),
+                new RequiresAuthorityAuthorizationManager());
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
     }
     
     @Bean
@@ -64,14 +137,18 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streaming exports finish on an async dispatch; the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/admin/**").hasRole("ADMIN")
-                .requestMatchers("/cargo/**").hasAnyAuthority("READ_CARGO", "WRITE_CARGO", "INSPECT_CARGO")
-                .requestMatchers("/vehicles/**").hasAnyAuthority("READ_VEHICLE", "WRITE_VEHICLE", "INSPECT_VEHICLE")
+                .requestMatchers("/cargo/**").access(EnumAuthorityAuthorizationManager.anyOf(
+                    AuthorityName.READ_CARGO, AuthorityName.INSPECT_CARGO))
+                .requestMatchers("/vehicles/**").access(EnumAuthorityAuthorizationManager.anyOf(
+                    AuthorityName.READ_VEHICLE, AuthorityName.INSPECT_VEHICLE))
                 .anyRequest().authenticated()
             );
         
@@ -1,6 +1,8 @@
 package com.customs.management.controller;
 
 import com.customs.management.dto.UserDto;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.security.RequiresAuthority;
 import com.customs.management.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -9,7 +11,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -25,7 +26,7 @@ public class AdminController {
     private AdminService adminService;
 
     @GetMapping("/users")
-    @PreAuthorize("hasAuthority('READ_USER')")
+    @RequiresAuthority(AuthorityName.READ_USER)
     public ResponseEntity<Page<UserDto>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -41,7 +42,7 @@ public class AdminController {
     }
 
     @GetMapping("/users/{id}")
-    @PreAuthorize("hasAuthority('READ_USER')")
+    @RequiresAuthority(AuthorityName.READ_USER)
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
         Optional<UserDto> user = adminService.getUserById(id);
         return user.map(ResponseEntity::ok)
@@ -49,7 +50,7 @@ public class AdminController {
     }
 
     @GetMapping("/users/username/{username}")
-    @PreAuthorize("hasAuthority('READ_USER')")
+    @RequiresAuthority(AuthorityName.READ_USER)
     public ResponseEntity<UserDto> getUserByUsername(@PathVariable String username) {
         Optional<UserDto> user = adminService.getUserByUsername(username);
         return user.map(ResponseEntity::ok)
@@ -57,7 +58,7 @@ public class AdminController {
     }
 
     @PostMapping("/users")
-    @PreAuthorize("hasAuthority('CREATE_USER')")
+    @RequiresAuthority(AuthorityName.CREATE_USER)
     public ResponseEntity<?> createUser(@RequestBody Map<String, Object> request) {
         try {
             String username = (String) request.get("username");
@@ -78,7 +79,7 @@ public class AdminController {
     }
 
     @PutMapping("/users/{id}/status")
-    @PreAuthorize("hasAuthority('UPDATE_USER')")
+    @RequiresAuthority(AuthorityName.UPDATE_USER)
     public ResponseEntity<UserDto> updateUserStatus(
             @PathVariable Long id, 
             @RequestParam boolean enabled) {
@@ -88,7 +89,7 @@ public class AdminController {
     }
 
     @PutMapping("/users/{id}/roles")
-    @PreAuthorize("hasAuthority('MANAGE_ROLES')")
+    @RequiresAuthority(AuthorityName.MANAGE_ROLES)
     public ResponseEntity<UserDto> updateUserRoles(
             @PathVariable Long id, 
             @RequestBody Set<String> roleNames) {
@@ -97,8 +98,20 @@ public class AdminController {
                          .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/cache/users")
+    @RequiresAuthority(AuthorityName.SYSTEM_CONFIG)
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        return ResponseEntity.ok(adminService.getUserCacheStats());
+    }
+
+    @GetMapping("/security/password-verification")
+    @RequiresAuthority(AuthorityName.SYSTEM_CONFIG)
+    public ResponseEntity<Map<String, Object>> getPasswordVerificationStats() {
+        return ResponseEntity.ok(adminService.getPasswordVerificationStats());
+    }
+
     @DeleteMapping("/users/{id}")
-    @PreAuthorize("hasAuthority('DELETE_USER')")
+    @RequiresAuthority(AuthorityName.DELETE_USER)
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         boolean deleted = adminService.deleteUser(id);
         if (deleted) {
@@ -3,11 +3,13 @@ package com.customs.management.controller;
 import com.customs.management.dto.JwtResponse;
 import com.customs.management.dto.LoginRequest;
 import com.customs.management.dto.PasswordResetRequest;
-import com.customs.management.entity.User;
+import com.customs.management.security.PasswordVerificationRejectedException;
+import com.customs.management.security.UserPrincipal;
 import com.customs.management.service.AuthService;
 import com.customs.management.util.JwtUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,8 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -44,24 +44,18 @@ public class AuthController {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = jwtUtils.generateJwtToken(authentication);
             
-            // Update last login
-            authService.updateLastLogin(loginRequest.getUsername());
+            // The authenticated principal carries everything the response needs, so the user is
+            // read once during authentication; the last-login write is deferred
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            authService.updateLastLogin(user.getUsername());
             
-            // Get user details
-            User user = authService.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            Set<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toSet());
-            
-            Set<String> authorities = user.getRoles().stream()
-                .flatMap(role -> role.getAuthorities().stream())
-                .map(authority -> authority.getName().name())
-                .collect(Collectors.toSet());
-            
-            return ResponseEntity.ok(new JwtResponse(jwt, user.getUsername(), user.getEmail(), roles, authorities));
+            return ResponseEntity.ok(new JwtResponse(jwt, user.getUsername(), user.getEmail(),
+                user.getRoleNames(), user.getAuthorityNames()));
             
+        } catch (PasswordVerificationRejectedException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Sign-in is temporarily busy, please try again");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
@@ -1,22 +1,42 @@
 package com.customs.management.controller;
 
+import com.customs.management.dto.CursorPage;
 import com.customs.management.dto.CargoEntryDto;
 import com.customs.management.dto.CreateCargoEntryRequest;
 import com.customs.management.dto.UpdateCargoEntryRequest;
+import com.customs.management.entity.AuthorityName;
 import com.customs.management.entity.CargoStatus;
+import com.customs.management.security.RequiresAuthority;
+import com.customs.management.service.CargoManifestImportService;
+import com.customs.management.service.CargoSearchService;
 import com.customs.management.service.CargoService;
+import com.customs.management.service.ExportService;
+import com.customs.management.service.ManifestFormat;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,19 +47,47 @@ public class CargoController {
     @Autowired
     private CargoService cargoService;
 
+    @Autowired
+    private CargoManifestImportService cargoManifestImportService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.cargo.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Autowired
+    private CargoSearchService cargoSearchService;
+
     @GetMapping
-    @PreAuthorize("hasAuthority('READ_CARGO')")
-    public ResponseEntity<Page<CargoEntryDto>> getAllCargo(
+    @RequiresAuthority(AuthorityName.READ_CARGO)
+    public ResponseEntity<Slice<CargoEntryDto>> getAllCargo(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
-            @RequestParam(required = false) CargoStatus status) {
+            @RequestParam(required = false) CargoStatus status,
+            @RequestParam(defaultValue = "exact") String count) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
+        // count=exact runs COUNT(*), count=cached uses the periodically refreshed status counts,
+        // count=none returns a slice for infinite scroll
+        if (count.equalsIgnoreCase("none")) {
+            return ResponseEntity.ok(cargoService.getCargoSlice(status, pageable));
+        }
+        if (count.equalsIgnoreCase("cached")) {
+            return ResponseEntity.ok(cargoService.getCargoWithCachedTotal(status, pageable));
+        }
+        
         Page<CargoEntryDto> cargoPage;
         if (status != null) {
             cargoPage = cargoService.getCargoByStatus(status, pageable);
@@ -50,8 +98,68 @@ public class CargoController {
         return ResponseEntity.ok(cargoPage);
     }
 
+    @GetMapping("/counts")
+    @RequiresAuthority(AuthorityName.READ_CARGO)
+    public ResponseEntity<Map<CargoStatus, Long>> getCargoStatusCounts() {
+        return ResponseEntity.ok(cargoService.getCargoStatusCounts());
+    }
+
+    @GetMapping("/scroll")
+    @RequiresAuthority(AuthorityName.READ_CARGO)
+    public ResponseEntity<CursorPage<CargoEntryDto>> scrollCargo(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) CargoStatus status) {
+        if (size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(cargoService.scrollCargo(status, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Free-text search over description and remarks, optionally narrowed by HS code prefix; hits come ranked
+    @GetMapping("/search")
+    @RequiresAuthority(AuthorityName.READ_CARGO)
+    public ResponseEntity<?> searchCargo(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String hsCode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and " + maxPageSize));
+        }
+        try {
+            return ResponseEntity.ok(cargoSearchService.search(q, hsCode, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/export")
+    @RequiresAuthority(AuthorityName.EXPORT_DATA)
+    public ResponseEntity<StreamingResponseBody> exportCargo(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) CargoStatus status) {
+        ManifestFormat exportFormat;
+        try {
+            exportFormat = ManifestFormat.resolve(format, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean ndjson = exportFormat == ManifestFormat.NDJSON;
+        StreamingResponseBody body = out -> exportService.exportCargo(status, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cargo-export." + (ndjson ? "ndjson" : "csv") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('READ_CARGO')")
+    @RequiresAuthority(AuthorityName.READ_CARGO)
     public ResponseEntity<CargoEntryDto> getCargoById(@PathVariable Long id) {
         Optional<CargoEntryDto> cargo = cargoService.getCargoById(id);
         return cargo.map(ResponseEntity::ok)
@@ -59,7 +167,7 @@ public class CargoController {
     }
 
     @GetMapping("/cargo-id/{cargoId}")
-    @PreAuthorize("hasAuthority('READ_CARGO')")
+    @RequiresAuthority(AuthorityName.READ_CARGO)
     public ResponseEntity<CargoEntryDto> getCargoByCargoId(@PathVariable String cargoId) {
         Optional<CargoEntryDto> cargo = cargoService.getCargoByCargoId(cargoId);
         return cargo.map(ResponseEntity::ok)
@@ -67,7 +175,7 @@ public class CargoController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('CREATE_CARGO')")
+    @RequiresAuthority(AuthorityName.CREATE_CARGO)
     public ResponseEntity<CargoEntryDto> createCargo(@Valid @RequestBody CreateCargoEntryRequest request) {
         try {
             CargoEntryDto createdCargo = cargoService.createCargo(request);
@@ -77,8 +185,62 @@ public class CargoController {
         }
     }
 
+    @PostMapping("/batch")
+    @RequiresAuthority(AuthorityName.CREATE_CARGO)
+    public ResponseEntity<?> createCargoBatch(@RequestBody List<CreateCargoEntryRequest> requests) {
+        // Size first, so an oversized batch is refused before any per-row work
+        if (requests.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Batch must contain at least one cargo entry"));
+        }
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "Batch exceeds the maximum of " + maxBatchSize + " cargo entries"));
+        }
+
+        // @Valid does not cascade into a bare list body, so report violations per row
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                errors.add("[" + i + "]: cargo entry must not be null");
+                continue;
+            }
+            for (ConstraintViolation<CreateCargoEntryRequest> violation : validator.validate(requests.get(i))) {
+                errors.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("errors", errors));
+        }
+
+        try {
+            List<CargoEntryDto> createdCargo = cargoService.createCargoBatch(requests);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdCargo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RequiresAuthority(AuthorityName.CREATE_CARGO)
+    public ResponseEntity<?> importManifest(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        ManifestFormat manifestFormat;
+        try {
+            manifestFormat = ManifestFormat.resolve(format, file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(cargoManifestImportService.importManifest(input, manifestFormat));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read manifest: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('UPDATE_CARGO')")
+    @RequiresAuthority(AuthorityName.UPDATE_CARGO)
     public ResponseEntity<CargoEntryDto> updateCargo(
             @PathVariable Long id, 
             @Valid @RequestBody UpdateCargoEntryRequest request) {
@@ -88,7 +250,7 @@ public class CargoController {
     }
 
     @PutMapping("/{cargoId}/assign-inspector/{inspectorId}")
-    @PreAuthorize("hasAuthority('INSPECT_CARGO')")
+    @RequiresAuthority(AuthorityName.INSPECT_CARGO)
     public ResponseEntity<CargoEntryDto> assignInspector(
             @PathVariable Long cargoId, 
             @PathVariable Long inspectorId) {
@@ -98,7 +260,7 @@ public class CargoController {
     }
 
     @PutMapping("/{cargoId}/calculate-duty")
-    @PreAuthorize("hasAuthority('CALCULATE_DUTY')")
+    @RequiresAuthority(AuthorityName.CALCULATE_DUTY)
     public ResponseEntity<CargoEntryDto> calculateDuty(
             @PathVariable Long cargoId, 
             @RequestParam BigDecimal dutyAmount) {
@@ -108,7 +270,7 @@ public class CargoController {
     }
 
     @PutMapping("/{cargoId}/record-payment")
-    @PreAuthorize("hasAuthority('PROCESS_PAYMENT')")
+    @RequiresAuthority(AuthorityName.PROCESS_PAYMENT)
     public ResponseEntity<CargoEntryDto> recordDutyPayment(
             @PathVariable Long cargoId, 
             @RequestParam BigDecimal paidAmount) {
@@ -118,7 +280,7 @@ public class CargoController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('DELETE_CARGO')")
+    @RequiresAuthority(AuthorityName.DELETE_CARGO)
     public ResponseEntity<?> deleteCargo(@PathVariable Long id) {
         boolean deleted = cargoService.deleteCargo(id);
         if (deleted) {
@@ -127,4 +289,11 @@ public class CargoController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Another request changed the same row first; the client should reload and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Cargo entry was modified concurrently, please retry"));
+    }
 }
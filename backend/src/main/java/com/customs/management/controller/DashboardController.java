@@ -0,0 +1,25 @@
+package com.customs.management.controller;
+
+import com.customs.management.dto.DashboardStatsDto;
+import com.customs.management.security.UserPrincipal;
+import com.customs.management.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/stats")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<DashboardStatsDto> getStats(@AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(dashboardService.getStats(user));
+    }
+}
@@ -3,6 +3,7 @@ package com.customs.management.controller;
 import com.customs.management.dto.MenuItemDto;
 import com.customs.management.dto.UserMenuResponse;
 import com.customs.management.entity.AuthorityName;
+import com.customs.management.security.RequiresAuthority;
 import com.customs.management.service.MenuService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -29,14 +30,14 @@ public class MenuController {
     }
 
     @GetMapping("/all")
-    @PreAuthorize("hasAuthority('MANAGE_ROLES')")
+    @RequiresAuthority(AuthorityName.MANAGE_ROLES)
     public ResponseEntity<List<MenuItemDto>> getAllMenuItems() {
         List<MenuItemDto> menuItems = menuService.getAllMenuItems();
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/by-authority/{authority}")
-    @PreAuthorize("hasAuthority('MANAGE_ROLES')")
+    @RequiresAuthority(AuthorityName.MANAGE_ROLES)
     public ResponseEntity<List<MenuItemDto>> getMenuItemsByAuthority(@PathVariable AuthorityName authority) {
         List<MenuItemDto> menuItems = menuService.getMenuItemsByAuthority(authority);
         return ResponseEntity.ok(menuItems);
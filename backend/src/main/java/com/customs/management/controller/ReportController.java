@@ -0,0 +1,128 @@
+package com.customs.management.controller;
+
+import com.customs.management.dto.ReportJobDto;
+import com.customs.management.dto.ReportJobRequest;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.security.RequiresAuthority;
+import com.customs.management.security.UserPrincipal;
+import com.customs.management.service.CargoRollupService;
+import com.customs.management.service.ReportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/reports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReportController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    @Autowired
+    private CargoRollupService cargoRollupService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @GetMapping("/cargo/daily")
+    @RequiresAuthority(AuthorityName.VIEW_REPORTS)
+    public ResponseEntity<?> getCargoDailyTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) CargoStatus status) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        try {
+            return ResponseEntity.ok(cargoRollupService.getDailyTotals(start, end, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/cargo/summary")
+    @RequiresAuthority(AuthorityName.VIEW_REPORTS)
+    public ResponseEntity<?> getCargoSummary(
+            @RequestParam(defaultValue = "origin") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) CargoStatus status) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        try {
+            return ResponseEntity.ok(cargoRollupService.getSummary(groupBy, start, end, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @RequiresAuthority(AuthorityName.GENERATE_REPORTS)
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        long start = System.currentTimeMillis();
+        long rows = cargoRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("rollupRows", rows, "durationMs", System.currentTimeMillis() - start));
+    }
+
+    @PostMapping("/jobs")
+    @RequiresAuthority(AuthorityName.GENERATE_REPORTS)
+    public ResponseEntity<?> submitReportJob(@RequestBody ReportJobRequest request,
+                                             @AuthenticationPrincipal UserPrincipal user) {
+        try {
+            ReportJobDto job = reportJobService.submit(request, user);
+            // A cached, already completed result can be downloaded straight away
+            HttpStatus status = "COMPLETED".equals(job.getStatus()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @RequiresAuthority(AuthorityName.VIEW_REPORTS)
+    public ResponseEntity<ReportJobDto> getReportJob(@PathVariable String jobId,
+                                                     @AuthenticationPrincipal UserPrincipal user) {
+        return reportJobService.getJob(jobId, user)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @RequiresAuthority(AuthorityName.VIEW_REPORTS)
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId,
+                                                   @AuthenticationPrincipal UserPrincipal user) {
+        Optional<ReportJobDto> job = reportJobService.getJob(jobId, user);
+        Optional<Path> file = reportJobService.getResultFile(jobId, user);
+        if (job.isEmpty() || file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + downloadName(job.get()) + "\"")
+                .body(new FileSystemResource(file.get()));
+    }
+
+    private static String downloadName(ReportJobDto job) {
+        return job.getType().toLowerCase(Locale.ROOT).replace('_', '-') + "-" + job.getFrom() + "_" + job.getTo()
+                + (job.getRecordStatus() != null ? "-" + job.getRecordStatus().toLowerCase(Locale.ROOT) : "")
+                + "." + job.getFormat().toLowerCase(Locale.ROOT) + ".gz";
+    }
+}
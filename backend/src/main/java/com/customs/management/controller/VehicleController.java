@@ -1,44 +1,84 @@
 package com.customs.management.controller;
 
+import com.customs.management.dto.CursorPage;
+import com.customs.management.dto.ImportJobDto;
 import com.customs.management.dto.VehicleImportDto;
 import com.customs.management.dto.CreateVehicleImportRequest;
+import com.customs.management.dto.VehicleSearchCriteria;
+import com.customs.management.entity.AuthorityName;
 import com.customs.management.entity.VehicleStatus;
+import com.customs.management.security.RequiresAuthority;
+import com.customs.management.service.ExportService;
+import com.customs.management.service.ManifestFormat;
+import com.customs.management.service.VehicleDeclarationImportService;
 import com.customs.management.service.VehicleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/vehicles")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class VehicleController {
 
+    // Search sort keys, each backed by an index on its own or after the equality filters
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("createdAt", "submissionDate", "year", "declaredValue");
+
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private VehicleDeclarationImportService vehicleDeclarationImportService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
     @GetMapping
-    @PreAuthorize("hasAuthority('READ_VEHICLE')")
-    public ResponseEntity<Page<VehicleImportDto>> getAllVehicles(
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
+    public ResponseEntity<Slice<VehicleImportDto>> getAllVehicles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
-            @RequestParam(required = false) VehicleStatus status) {
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(defaultValue = "exact") String count) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
+        // count=exact runs COUNT(*), count=cached uses the periodically refreshed status counts,
+        // count=none returns a slice for infinite scroll
+        if (count.equalsIgnoreCase("none")) {
+            return ResponseEntity.ok(vehicleService.getVehiclesSlice(status, pageable));
+        }
+        if (count.equalsIgnoreCase("cached")) {
+            return ResponseEntity.ok(vehicleService.getVehiclesWithCachedTotal(status, pageable));
+        }
+        
         Page<VehicleImportDto> vehiclePage;
         if (status != null) {
             vehiclePage = vehicleService.getVehiclesByStatus(status, pageable);
@@ -49,8 +89,76 @@ public class VehicleController {
         return ResponseEntity.ok(vehiclePage);
     }
 
+    @GetMapping("/counts")
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
+    public ResponseEntity<Map<VehicleStatus, Long>> getVehicleStatusCounts() {
+        return ResponseEntity.ok(vehicleService.getVehicleStatusCounts());
+    }
+
+    // Combined filters: make, model, yearFrom/yearTo, fuelType, origin, status, inspectorId,
+    // submittedFrom/submittedTo and createdFrom/createdTo (ISO dates, inclusive)
+    @GetMapping("/search")
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
+    public ResponseEntity<?> searchVehicles(
+            VehicleSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        if (!SEARCH_SORT_FIELDS.contains(sortBy)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unsupported sortBy: " + sortBy));
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and " + maxPageSize));
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // id breaks ties so pages stay stable
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy, "id"));
+        try {
+            return ResponseEntity.ok(vehicleService.searchVehicles(criteria, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/scroll")
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
+    public ResponseEntity<CursorPage<VehicleImportDto>> scrollVehicles(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) VehicleStatus status) {
+        if (size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(vehicleService.scrollVehicles(status, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @RequiresAuthority(AuthorityName.EXPORT_DATA)
+    public ResponseEntity<StreamingResponseBody> exportVehicles(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) VehicleStatus status) {
+        ManifestFormat exportFormat;
+        try {
+            exportFormat = ManifestFormat.resolve(format, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean ndjson = exportFormat == ManifestFormat.NDJSON;
+        StreamingResponseBody body = out -> exportService.exportVehicles(status, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vehicles-export." + (ndjson ? "ndjson" : "csv") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('READ_VEHICLE')")
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
     public ResponseEntity<VehicleImportDto> getVehicleById(@PathVariable Long id) {
         Optional<VehicleImportDto> vehicle = vehicleService.getVehicleById(id);
         return vehicle.map(ResponseEntity::ok)
@@ -58,7 +166,7 @@ public class VehicleController {
     }
 
     @GetMapping("/vehicle-id/{vehicleId}")
-    @PreAuthorize("hasAuthority('READ_VEHICLE')")
+    @RequiresAuthority(AuthorityName.READ_VEHICLE)
     public ResponseEntity<VehicleImportDto> getVehicleByVehicleId(@PathVariable String vehicleId) {
         Optional<VehicleImportDto> vehicle = vehicleService.getVehicleByVehicleId(vehicleId);
         return vehicle.map(ResponseEntity::ok)
@@ -66,7 +174,7 @@ public class VehicleController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('CREATE_VEHICLE')")
+    @RequiresAuthority(AuthorityName.CREATE_VEHICLE)
     public ResponseEntity<VehicleImportDto> createVehicleImport(@Valid @RequestBody CreateVehicleImportRequest request) {
         try {
             VehicleImportDto createdVehicle = vehicleService.createVehicleImport(request);
@@ -76,8 +184,39 @@ public class VehicleController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RequiresAuthority(AuthorityName.CREATE_VEHICLE)
+    public ResponseEntity<?> importDeclaration(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            Authentication authentication) {
+        ManifestFormat declarationFormat;
+        try {
+            declarationFormat = ManifestFormat.resolve(format, file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        try {
+            ImportJobDto job = vehicleDeclarationImportService.submit(file, declarationFormat, authentication.getName());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read declaration: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/import/{jobId}")
+    @RequiresAuthority(AuthorityName.CREATE_VEHICLE)
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId, Authentication authentication) {
+        return vehicleDeclarationImportService.getJob(jobId, authentication.getName())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}/status")
-    @PreAuthorize("hasAuthority('UPDATE_VEHICLE')")
+    @RequiresAuthority(AuthorityName.UPDATE_VEHICLE)
     public ResponseEntity<VehicleImportDto> updateVehicleStatus(
             @PathVariable Long id, 
             @RequestParam VehicleStatus status) {
@@ -87,7 +226,7 @@ public class VehicleController {
     }
 
     @PutMapping("/{vehicleId}/assign-inspector/{inspectorId}")
-    @PreAuthorize("hasAuthority('INSPECT_VEHICLE')")
+    @RequiresAuthority(AuthorityName.INSPECT_VEHICLE)
     public ResponseEntity<VehicleImportDto> assignInspector(
             @PathVariable Long vehicleId, 
             @PathVariable Long inspectorId) {
@@ -97,7 +236,7 @@ public class VehicleController {
     }
 
     @PutMapping("/{vehicleId}/calculate-duty")
-    @PreAuthorize("hasAuthority('CALCULATE_DUTY')")
+    @RequiresAuthority(AuthorityName.CALCULATE_DUTY)
     public ResponseEntity<VehicleImportDto> calculateDuty(
             @PathVariable Long vehicleId, 
             @RequestParam BigDecimal dutyAmount) {
@@ -107,7 +246,7 @@ public class VehicleController {
     }
 
     @PutMapping("/{vehicleId}/record-payment")
-    @PreAuthorize("hasAuthority('PROCESS_PAYMENT')")
+    @RequiresAuthority(AuthorityName.PROCESS_PAYMENT)
     public ResponseEntity<VehicleImportDto> recordDutyPayment(
             @PathVariable Long vehicleId, 
             @RequestParam BigDecimal paidAmount) {
@@ -117,7 +256,7 @@ public class VehicleController {
     }
 
     @PutMapping("/{vehicleId}/registration")
-    @PreAuthorize("hasAuthority('UPDATE_VEHICLE')")
+    @RequiresAuthority(AuthorityName.UPDATE_VEHICLE)
     public ResponseEntity<VehicleImportDto> assignRegistrationNumber(
             @PathVariable Long vehicleId, 
             @RequestParam String registrationNumber) {
@@ -127,7 +266,7 @@ public class VehicleController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('DELETE_VEHICLE')")
+    @RequiresAuthority(AuthorityName.DELETE_VEHICLE)
     public ResponseEntity<?> deleteVehicle(@PathVariable Long id) {
         boolean deleted = vehicleService.deleteVehicle(id);
         if (deleted) {
@@ -136,4 +275,11 @@ public class VehicleController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Another request changed the same row first; the client should reload and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Vehicle was modified concurrently, please retry"));
+    }
 }
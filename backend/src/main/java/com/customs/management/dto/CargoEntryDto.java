@@ -28,6 +28,35 @@ public class CargoEntryDto {
     // Constructors
     public CargoEntryDto() {}
 
+    // List-view projection: every column except remarks, with the inspector name joined in the same query
+    public CargoEntryDto(Long id, String cargoId, String description, String origin, String destination,
+                         BigDecimal declaredValue, BigDecimal weight, BigDecimal volume, String hsCode,
+                         CargoStatus status, LocalDateTime arrivalDate, LocalDateTime inspectionDate,
+                         LocalDateTime clearanceDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                         BigDecimal dutyCalculated, BigDecimal dutyPaid,
+                         String inspectorFirstName, String inspectorLastName) {
+        this.id = id;
+        this.cargoId = cargoId;
+        this.description = description;
+        this.origin = origin;
+        this.destination = destination;
+        this.declaredValue = declaredValue;
+        this.weight = weight;
+        this.volume = volume;
+        this.hsCode = hsCode;
+        this.status = status;
+        this.arrivalDate = arrivalDate;
+        this.inspectionDate = inspectionDate;
+        this.clearanceDate = clearanceDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dutyCalculated = dutyCalculated;
+        this.dutyPaid = dutyPaid;
+        if (inspectorFirstName != null || inspectorLastName != null) {
+            this.inspectorName = inspectorFirstName + " " + inspectorLastName;
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,64 @@
+package com.customs.management.dto;
+
+import java.math.BigDecimal;
+
+public class CargoReportRowDto {
+    private String key;
+    private long entryCount;
+    private BigDecimal declaredValue;
+    private BigDecimal dutyCalculated;
+    private BigDecimal dutyPaid;
+
+    // Constructors
+    public CargoReportRowDto() {}
+
+    public CargoReportRowDto(String key, long entryCount, BigDecimal declaredValue,
+                             BigDecimal dutyCalculated, BigDecimal dutyPaid) {
+        this.key = key;
+        this.entryCount = entryCount;
+        this.declaredValue = declaredValue;
+        this.dutyCalculated = dutyCalculated;
+        this.dutyPaid = dutyPaid;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public BigDecimal getDeclaredValue() {
+        return declaredValue;
+    }
+
+    public void setDeclaredValue(BigDecimal declaredValue) {
+        this.declaredValue = declaredValue;
+    }
+
+    public BigDecimal getDutyCalculated() {
+        return dutyCalculated;
+    }
+
+    public void setDutyCalculated(BigDecimal dutyCalculated) {
+        this.dutyCalculated = dutyCalculated;
+    }
+
+    public BigDecimal getDutyPaid() {
+        return dutyPaid;
+    }
+
+    public void setDutyPaid(BigDecimal dutyPaid) {
+        this.dutyPaid = dutyPaid;
+    }
+}
@@ -0,0 +1,59 @@
+package com.customs.management.dto;
+
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class DashboardStatsDto {
+    private Map<CargoStatus, Long> cargoByStatus;
+    private Long cargoTotal;
+    private Map<VehicleStatus, Long> vehiclesByStatus;
+    private Long vehicleTotal;
+    private LocalDateTime reconciledAt;
+
+    // Constructors
+    public DashboardStatsDto() {}
+
+    // Getters and Setters
+    public Map<CargoStatus, Long> getCargoByStatus() {
+        return cargoByStatus;
+    }
+
+    public void setCargoByStatus(Map<CargoStatus, Long> cargoByStatus) {
+        this.cargoByStatus = cargoByStatus;
+    }
+
+    public Long getCargoTotal() {
+        return cargoTotal;
+    }
+
+    public void setCargoTotal(Long cargoTotal) {
+        this.cargoTotal = cargoTotal;
+    }
+
+    public Map<VehicleStatus, Long> getVehiclesByStatus() {
+        return vehiclesByStatus;
+    }
+
+    public void setVehiclesByStatus(Map<VehicleStatus, Long> vehiclesByStatus) {
+        this.vehiclesByStatus = vehiclesByStatus;
+    }
+
+    public Long getVehicleTotal() {
+        return vehicleTotal;
+    }
+
+    public void setVehicleTotal(Long vehicleTotal) {
+        this.vehicleTotal = vehicleTotal;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
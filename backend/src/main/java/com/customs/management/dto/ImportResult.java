@@ -0,0 +1,131 @@
+package com.customs.management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Only the first maxReportedErrors failures are kept so huge files stay bounded in memory
+    private final int maxReportedErrors;
+
+    // Constructors
+    public ImportResult() {
+        this(1000);
+    }
+
+    public ImportResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void recordRow() {
+        totalRows++;
+    }
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordFailure(long line, String key, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(line, key, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    // Detached copy for readers on other threads while an import is still running
+    public ImportResult copy() {
+        ImportResult copy = new ImportResult(maxReportedErrors);
+        copy.totalRows = totalRows;
+        copy.imported = imported;
+        copy.failed = failed;
+        copy.errors = new ArrayList<>(errors);
+        copy.errorsTruncated = errorsTruncated;
+        return copy;
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public static class RowError {
+        private long line;
+        private String key;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String key, String message) {
+            this.line = line;
+            this.key = key;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.customs.management.dto;
+
+import com.customs.management.service.ReportType;
+
+import java.time.LocalDate;
+
+public class ReportJobRequest {
+    
+    private ReportType type;
+    
+    // Inclusive date range over arrival (cargo) or submission (vehicles) date
+    private LocalDate from;
+    
+    private LocalDate to;
+    
+    // Optional CargoStatus or VehicleStatus name, depending on the report type
+    private String status;
+    
+    // csv (default) or ndjson
+    private String format;
+
+    // Constructors
+    public ReportJobRequest() {}
+
+    // Getters and Setters
+    public ReportType getType() {
+        return type;
+    }
+
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+}
@@ -32,6 +32,40 @@ public class VehicleImportDto {
     // Constructors
     public VehicleImportDto() {}
 
+    // List-view projection: every column except remarks, with the inspector name joined in the same query
+    public VehicleImportDto(Long id, String vehicleId, String make, String model, Integer year,
+                            String engineNumber, String chassisNumber, String origin, BigDecimal declaredValue,
+                            BigDecimal engineCapacity, String fuelType, String color, VehicleStatus status,
+                            LocalDateTime submissionDate, LocalDateTime inspectionDate, LocalDateTime approvalDate,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, BigDecimal dutyCalculated,
+                            BigDecimal dutyPaid, String registrationNumber,
+                            String inspectorFirstName, String inspectorLastName) {
+        this.id = id;
+        this.vehicleId = vehicleId;
+        this.make = make;
+        this.model = model;
+        this.year = year;
+        this.engineNumber = engineNumber;
+        this.chassisNumber = chassisNumber;
+        this.origin = origin;
+        this.declaredValue = declaredValue;
+        this.engineCapacity = engineCapacity;
+        this.fuelType = fuelType;
+        this.color = color;
+        this.status = status;
+        this.submissionDate = submissionDate;
+        this.inspectionDate = inspectionDate;
+        this.approvalDate = approvalDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dutyCalculated = dutyCalculated;
+        this.dutyPaid = dutyPaid;
+        this.registrationNumber = registrationNumber;
+        if (inspectorFirstName != null || inspectorLastName != null) {
+            this.inspectorName = inspectorFirstName + " " + inspectorLastName;
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,134 @@
+package com.customs.management.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily cargo totals per origin, destination, HS code and status. Maintained from
+ * {@link CargoRollupChange} rows so reports never scan cargo_entries.
+ */
+@Entity
+@Table(name = "cargo_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_cargo_daily_rollups_key", columnNames = {"rollup_day", "origin", "destination", "hs_code", "status"})
+})
+public class CargoDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cargo_daily_rollups_seq")
+    @SequenceGenerator(name = "cargo_daily_rollups_seq", sequenceName = "cargo_daily_rollups_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+    
+    @Column(nullable = false)
+    private String origin;
+    
+    @Column(nullable = false)
+    private String destination;
+    
+    // Empty string when the entry has no HS code, so the natural key never contains NULL
+    @Column(name = "hs_code", nullable = false, length = 100)
+    private String hsCode;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CargoStatus status;
+    
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount = 0L;
+    
+    @Column(name = "declared_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal declaredValue = BigDecimal.ZERO;
+    
+    @Column(name = "duty_calculated", nullable = false, precision = 19, scale = 2)
+    private BigDecimal dutyCalculated = BigDecimal.ZERO;
+    
+    @Column(name = "duty_paid", nullable = false, precision = 19, scale = 2)
+    private BigDecimal dutyPaid = BigDecimal.ZERO;
+    
+    // Constructors
+    public CargoDailyRollup() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+    
+    public String getOrigin() {
+        return origin;
+    }
+    
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+    
+    public String getDestination() {
+        return destination;
+    }
+    
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+    
+    public String getHsCode() {
+        return hsCode;
+    }
+    
+    public void setHsCode(String hsCode) {
+        this.hsCode = hsCode;
+    }
+    
+    public CargoStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(CargoStatus status) {
+        this.status = status;
+    }
+    
+    public Long getEntryCount() {
+        return entryCount;
+    }
+    
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+    
+    public BigDecimal getDeclaredValue() {
+        return declaredValue;
+    }
+    
+    public void setDeclaredValue(BigDecimal declaredValue) {
+        this.declaredValue = declaredValue;
+    }
+    
+    public BigDecimal getDutyCalculated() {
+        return dutyCalculated;
+    }
+    
+    public void setDutyCalculated(BigDecimal dutyCalculated) {
+        this.dutyCalculated = dutyCalculated;
+    }
+    
+    public BigDecimal getDutyPaid() {
+        return dutyPaid;
+    }
+    
+    public void setDutyPaid(BigDecimal dutyPaid) {
+        this.dutyPaid = dutyPaid;
+    }
+}
@@ -5,11 +5,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cargo_entries")
+@Table(name = "cargo_entries", indexes = {
+    @Index(name = "idx_cargo_entries_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_cargo_entries_status_created_at_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_cargo_entries_status_arrival_date", columnList = "status, arrival_date"),
+    @Index(name = "idx_cargo_entries_origin", columnList = "origin"),
+    @Index(name = "idx_cargo_entries_arrival_date", columnList = "arrival_date"),
+    @Index(name = "idx_cargo_entries_inspector_id", columnList = "inspector_id")
+})
 public class CargoEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cargo_entries_seq")
+    @SequenceGenerator(name = "cargo_entries_seq", sequenceName = "cargo_entries_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -55,6 +63,11 @@ public class CargoEntry {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Optimistic lock: concurrent status changes to one row cannot both commit. Left null until
+    // persisted so Spring Data still treats new entities as new.
+    @Version
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "inspector_id")
     private User inspector;
@@ -192,6 +205,14 @@ public class CargoEntry {
         this.createdAt = createdAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,143 @@
+package com.customs.management.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Signed delta against one {@link CargoDailyRollup} key, written in the same transaction
+ * as the cargo change that caused it and folded into the rollups asynchronously.
+ */
+@Entity
+@Table(name = "cargo_rollup_changes")
+public class CargoRollupChange {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cargo_rollup_changes_seq")
+    @SequenceGenerator(name = "cargo_rollup_changes_seq", sequenceName = "cargo_rollup_changes_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+    
+    @Column(nullable = false)
+    private String origin;
+    
+    @Column(nullable = false)
+    private String destination;
+    
+    @Column(name = "hs_code", nullable = false, length = 100)
+    private String hsCode;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CargoStatus status;
+    
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount = 0L;
+    
+    @Column(name = "declared_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal declaredValue = BigDecimal.ZERO;
+    
+    @Column(name = "duty_calculated", nullable = false, precision = 19, scale = 2)
+    private BigDecimal dutyCalculated = BigDecimal.ZERO;
+    
+    @Column(name = "duty_paid", nullable = false, precision = 19, scale = 2)
+    private BigDecimal dutyPaid = BigDecimal.ZERO;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    // Constructors
+    public CargoRollupChange() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+    
+    public String getOrigin() {
+        return origin;
+    }
+    
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+    
+    public String getDestination() {
+        return destination;
+    }
+    
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+    
+    public String getHsCode() {
+        return hsCode;
+    }
+    
+    public void setHsCode(String hsCode) {
+        this.hsCode = hsCode;
+    }
+    
+    public CargoStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(CargoStatus status) {
+        this.status = status;
+    }
+    
+    public Long getEntryCount() {
+        return entryCount;
+    }
+    
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+    
+    public BigDecimal getDeclaredValue() {
+        return declaredValue;
+    }
+    
+    public void setDeclaredValue(BigDecimal declaredValue) {
+        this.declaredValue = declaredValue;
+    }
+    
+    public BigDecimal getDutyCalculated() {
+        return dutyCalculated;
+    }
+    
+    public void setDutyCalculated(BigDecimal dutyCalculated) {
+        this.dutyCalculated = dutyCalculated;
+    }
+    
+    public BigDecimal getDutyPaid() {
+        return dutyPaid;
+    }
+    
+    public void setDutyPaid(BigDecimal dutyPaid) {
+        this.dutyPaid = dutyPaid;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.customs.management.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Latest time a user's outstanding JWTs were revoked. Tokens issued at or before this time
+ * are rejected; rows are dropped once every such token has expired.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+    @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at")
+})
+public class TokenRevocation {
+    
+    @Id
+    private String username;
+    
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+    
+    // Constructors
+    public TokenRevocation() {}
+    
+    public TokenRevocation(String username, LocalDateTime revokedAt) {
+        this.username = username;
+        this.revokedAt = revokedAt;
+    }
+    
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
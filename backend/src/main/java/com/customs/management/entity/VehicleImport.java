@@ -5,11 +5,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicle_imports")
+@Table(name = "vehicle_imports", indexes = {
+    @Index(name = "idx_vehicle_imports_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_vehicle_imports_status_created_at_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_vehicle_imports_status_submission_date", columnList = "status, submission_date"),
+    @Index(name = "idx_vehicle_imports_origin_submission_date", columnList = "origin, submission_date"),
+    @Index(name = "idx_vehicle_imports_make_model_year", columnList = "make, model, vehicle_year"),
+    @Index(name = "idx_vehicle_imports_fuel_type_year", columnList = "fuel_type, vehicle_year"),
+    @Index(name = "idx_vehicle_imports_inspector_status", columnList = "inspector_id, status"),
+    @Index(name = "idx_vehicle_imports_submission_date", columnList = "submission_date"),
+    @Index(name = "idx_vehicle_imports_chassis_number", columnList = "chassis_number"),
+    @Index(name = "idx_vehicle_imports_engine_number", columnList = "engine_number")
+})
 public class VehicleImport {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_imports_seq")
+    @SequenceGenerator(name = "vehicle_imports_seq", sequenceName = "vehicle_imports_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -64,6 +76,11 @@ public class VehicleImport {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Optimistic lock: concurrent status changes to one row cannot both commit. Left null until
+    // persisted so Spring Data still treats new entities as new.
+    @Version
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "inspector_id")
     private User inspector;
@@ -229,6 +246,14 @@ public class VehicleImport {
         this.createdAt = createdAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,20 @@
+package com.customs.management.repository;
+
+import com.customs.management.entity.CargoDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Repository
+public interface CargoDailyRollupRepository extends JpaRepository<CargoDailyRollup, Long> {
+    
+    // Keys whose last entry moved away are dropped rather than kept as zero rows
+    @Modifying
+    @Query("DELETE FROM CargoDailyRollup r WHERE r.day IN :days AND r.entryCount <= 0")
+    int deleteEmptied(@Param("days") Collection<LocalDate> days);
+}
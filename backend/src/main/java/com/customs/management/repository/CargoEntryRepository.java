@@ -1,15 +1,18 @@
 package com.customs.management.repository;
 
+import com.customs.management.dto.CargoEntryDto;
 import com.customs.management.entity.CargoEntry;
 import com.customs.management.entity.CargoStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +20,57 @@ import java.util.Optional;
 public interface CargoEntryRepository extends JpaRepository<CargoEntry, Long> {
     
     Optional<CargoEntry> findByCargoId(String cargoId);
+
+    @Query("SELECT c.cargoId FROM CargoEntry c WHERE c.cargoId IN :cargoIds")
+    List<String> findExistingCargoIds(@Param("cargoIds") Collection<String> cargoIds);
     
     List<CargoEntry> findByStatus(CargoStatus status);
     
     Page<CargoEntry> findByStatus(CargoStatus status, Pageable pageable);
     
+    String LIST_VIEW_SELECT = "SELECT new com.customs.management.dto.CargoEntryDto(" +
+            "c.id, c.cargoId, c.description, c.origin, c.destination, c.declaredValue, c.weight, c.volume, " +
+            "c.hsCode, c.status, c.arrivalDate, c.inspectionDate, c.clearanceDate, c.createdAt, c.updatedAt, " +
+            "c.dutyCalculated, c.dutyPaid, i.firstName, i.lastName) " +
+            "FROM CargoEntry c LEFT JOIN c.inspector i";
+    
+    // Read-only list pages: one statement, no entity hydration or dirty-checking snapshots
+    @Query(value = LIST_VIEW_SELECT,
+           countQuery = "SELECT COUNT(c) FROM CargoEntry c")
+    Page<CargoEntryDto> findAllListView(Pageable pageable);
+    
+    @Query(value = LIST_VIEW_SELECT + " WHERE c.status = :status",
+           countQuery = "SELECT COUNT(c) FROM CargoEntry c WHERE c.status = :status")
+    Page<CargoEntryDto> findListViewByStatus(@Param("status") CargoStatus status, Pageable pageable);
+    
+    // Hydrates search hits in one statement; callers restore the ranked order
+    @Query(LIST_VIEW_SELECT + " WHERE c.id IN :ids")
+    List<CargoEntryDto> findListViewByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Slice variants fetch one extra row to detect a next page and never run the count query
+    @Query(LIST_VIEW_SELECT)
+    Slice<CargoEntryDto> findListViewSlice(Pageable pageable);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE c.status = :status")
+    Slice<CargoEntryDto> findListViewSliceByStatus(@Param("status") CargoStatus status, Pageable pageable);
+    
+    // Keyset (seek) pagination over (createdAt DESC, id DESC); pass PageRequest.of(0, n) as the limit
+    String KEYSET_ORDER = " ORDER BY c.createdAt DESC, c.id DESC";
+    String KEYSET_AFTER = "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id))";
+    
+    @Query(LIST_VIEW_SELECT + KEYSET_ORDER)
+    List<CargoEntryDto> findListViewFirst(Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<CargoEntryDto> findListViewAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE c.status = :status" + KEYSET_ORDER)
+    List<CargoEntryDto> findListViewByStatusFirst(@Param("status") CargoStatus status, Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE c.status = :status AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<CargoEntryDto> findListViewByStatusAfter(@Param("status") CargoStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable limit);
+    
     List<CargoEntry> findByOrigin(String origin);
     
     List<CargoEntry> findByArrivalDateBetween(LocalDateTime startDate, LocalDateTime endDate);
@@ -32,6 +81,16 @@ public interface CargoEntryRepository extends JpaRepository<CargoEntry, Long> {
     @Query("SELECT c FROM CargoEntry c WHERE c.status = :status AND c.arrivalDate >= :fromDate")
     List<CargoEntry> findByStatusAndArrivalDateAfter(@Param("status") CargoStatus status, @Param("fromDate") LocalDateTime fromDate);
     
+    // Full daily aggregate used to (re)build cargo_daily_rollups
+    @Query("SELECT extract(date from c.createdAt), c.origin, c.destination, coalesce(c.hsCode, ''), c.status, COUNT(c), " +
+           "coalesce(SUM(c.declaredValue), 0), coalesce(SUM(c.dutyCalculated), 0), coalesce(SUM(c.dutyPaid), 0) " +
+           "FROM CargoEntry c " +
+           "GROUP BY extract(date from c.createdAt), c.origin, c.destination, coalesce(c.hsCode, ''), c.status")
+    List<Object[]> aggregateDailyRollups();
+
+    @Query("SELECT c.status, COUNT(c) FROM CargoEntry c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+
     @Query("SELECT COUNT(c) FROM CargoEntry c WHERE c.status = :status")
     Long countByStatus(@Param("status") CargoStatus status);
 }
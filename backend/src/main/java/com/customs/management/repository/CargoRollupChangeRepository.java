@@ -0,0 +1,34 @@
+package com.customs.management.repository;
+
+import com.customs.management.entity.CargoRollupChange;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CargoRollupChangeRepository extends JpaRepository<CargoRollupChange, Long> {
+    
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): each instance claims a disjoint set of changes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM CargoRollupChange c ORDER BY c.id")
+    List<CargoRollupChange> claimOldest(Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM CargoRollupChange c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+    
+    // Removes only rows visible to the caller's snapshot; run it at REPEATABLE READ
+    @Modifying
+    @Query("DELETE FROM CargoRollupChange c")
+    int deleteAllVisible();
+}
@@ -0,0 +1,22 @@
+package com.customs.management.repository;
+
+import com.customs.management.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    
+    @Query("SELECT r FROM TokenRevocation r WHERE r.revokedAt >= :since")
+    List<TokenRevocation> findRevokedSince(@Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
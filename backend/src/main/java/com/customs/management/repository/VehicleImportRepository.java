@@ -1,20 +1,26 @@
 package com.customs.management.repository;
 
+import com.customs.management.dto.VehicleImportDto;
 import com.customs.management.entity.VehicleImport;
 import com.customs.management.entity.VehicleStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VehicleImportRepository extends JpaRepository<VehicleImport, Long> {
+public interface VehicleImportRepository extends JpaRepository<VehicleImport, Long>, JpaSpecificationExecutor<VehicleImport> {
     
     Optional<VehicleImport> findByVehicleId(String vehicleId);
     
@@ -22,6 +28,51 @@ public interface VehicleImportRepository extends JpaRepository<VehicleImport, Lo
     
     Page<VehicleImport> findByStatus(VehicleStatus status, Pageable pageable);
     
+    // Filtered search (VehicleImportSpecifications); the graph only applies to the page query, not the count
+    @Override
+    @EntityGraph(attributePaths = "inspector")
+    Page<VehicleImport> findAll(Specification<VehicleImport> spec, Pageable pageable);
+    
+    String LIST_VIEW_SELECT = "SELECT new com.customs.management.dto.VehicleImportDto(" +
+            "v.id, v.vehicleId, v.make, v.model, v.year, v.engineNumber, v.chassisNumber, v.origin, " +
+            "v.declaredValue, v.engineCapacity, v.fuelType, v.color, v.status, v.submissionDate, " +
+            "v.inspectionDate, v.approvalDate, v.createdAt, v.updatedAt, v.dutyCalculated, v.dutyPaid, " +
+            "v.registrationNumber, i.firstName, i.lastName) " +
+            "FROM VehicleImport v LEFT JOIN v.inspector i";
+    
+    // Read-only list pages: one statement, no entity hydration or dirty-checking snapshots
+    @Query(value = LIST_VIEW_SELECT,
+           countQuery = "SELECT COUNT(v) FROM VehicleImport v")
+    Page<VehicleImportDto> findAllListView(Pageable pageable);
+    
+    @Query(value = LIST_VIEW_SELECT + " WHERE v.status = :status",
+           countQuery = "SELECT COUNT(v) FROM VehicleImport v WHERE v.status = :status")
+    Page<VehicleImportDto> findListViewByStatus(@Param("status") VehicleStatus status, Pageable pageable);
+    
+    // Slice variants fetch one extra row to detect a next page and never run the count query
+    @Query(LIST_VIEW_SELECT)
+    Slice<VehicleImportDto> findListViewSlice(Pageable pageable);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE v.status = :status")
+    Slice<VehicleImportDto> findListViewSliceByStatus(@Param("status") VehicleStatus status, Pageable pageable);
+    
+    // Keyset (seek) pagination over (createdAt DESC, id DESC); pass PageRequest.of(0, n) as the limit
+    String KEYSET_ORDER = " ORDER BY v.createdAt DESC, v.id DESC";
+    String KEYSET_AFTER = "(v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id))";
+    
+    @Query(LIST_VIEW_SELECT + KEYSET_ORDER)
+    List<VehicleImportDto> findListViewFirst(Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<VehicleImportDto> findListViewAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE v.status = :status" + KEYSET_ORDER)
+    List<VehicleImportDto> findListViewByStatusFirst(@Param("status") VehicleStatus status, Pageable limit);
+    
+    @Query(LIST_VIEW_SELECT + " WHERE v.status = :status AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<VehicleImportDto> findListViewByStatusAfter(@Param("status") VehicleStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable limit);
+    
     List<VehicleImport> findByMakeAndModel(String make, String model);
     
     List<VehicleImport> findByOrigin(String origin);
@@ -34,10 +85,23 @@ public interface VehicleImportRepository extends JpaRepository<VehicleImport, Lo
     @Query("SELECT v FROM VehicleImport v WHERE v.status = :status AND v.submissionDate >= :fromDate")
     List<VehicleImport> findByStatusAndSubmissionDateAfter(@Param("status") VehicleStatus status, @Param("fromDate") LocalDateTime fromDate);
     
+    @Query("SELECT v.status, COUNT(v) FROM VehicleImport v GROUP BY v.status")
+    List<Object[]> countGroupedByStatus();
+
     @Query("SELECT COUNT(v) FROM VehicleImport v WHERE v.status = :status")
     Long countByStatus(@Param("status") VehicleStatus status);
     
     Optional<VehicleImport> findByChassisNumber(String chassisNumber);
     
     Optional<VehicleImport> findByEngineNumber(String engineNumber);
+
+    // Set-based uniqueness checks for bulk declarations
+    @Query("SELECT v.vehicleId FROM VehicleImport v WHERE v.vehicleId IN :vehicleIds")
+    List<String> findExistingVehicleIds(@Param("vehicleIds") Collection<String> vehicleIds);
+
+    @Query("SELECT v.chassisNumber FROM VehicleImport v WHERE v.chassisNumber IN :chassisNumbers")
+    List<String> findExistingChassisNumbers(@Param("chassisNumbers") Collection<String> chassisNumbers);
+
+    @Query("SELECT v.engineNumber FROM VehicleImport v WHERE v.engineNumber IN :engineNumbers")
+    List<String> findExistingEngineNumbers(@Param("engineNumbers") Collection<String> engineNumbers);
 }
@@ -0,0 +1,74 @@
+package com.customs.management.repository;
+
+import com.customs.management.dto.VehicleSearchCriteria;
+import com.customs.management.entity.VehicleImport;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the WHERE clause for the vehicle search from whichever filters are set. Filters are
+ * equality or range predicates on plain columns so the planner can use the composite indexes:
+ * (make, model, vehicle_year), (origin, submission_date), (fuel_type, vehicle_year),
+ * (status, submission_date), (status, created_at, id) and (inspector_id, status).
+ */
+public final class VehicleImportSpecifications {
+
+    private VehicleImportSpecifications() {
+    }
+
+    public static Specification<VehicleImport> matching(VehicleSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(criteria.getMake())) {
+                predicates.add(cb.equal(root.get("make"), criteria.getMake().trim()));
+            }
+            if (hasText(criteria.getModel())) {
+                predicates.add(cb.equal(root.get("model"), criteria.getModel().trim()));
+            }
+            if (criteria.getYearFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("year"), criteria.getYearFrom()));
+            }
+            if (criteria.getYearTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("year"), criteria.getYearTo()));
+            }
+            if (hasText(criteria.getFuelType())) {
+                predicates.add(cb.equal(root.get("fuelType"), criteria.getFuelType().trim()));
+            }
+            if (hasText(criteria.getOrigin())) {
+                predicates.add(cb.equal(root.get("origin"), criteria.getOrigin().trim()));
+            }
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            if (criteria.getInspectorId() != null) {
+                // Compares the foreign key column; no join to users
+                predicates.add(cb.equal(root.get("inspector").get("id"), criteria.getInspectorId()));
+            }
+            addDateRange(predicates, cb, root.get("submissionDate"), criteria.getSubmittedFrom(), criteria.getSubmittedTo());
+            addDateRange(predicates, cb, root.get("createdAt"), criteria.getCreatedFrom(), criteria.getCreatedTo());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Inclusive days as a half-open timestamp range, so the column is compared without a function
+    private static void addDateRange(List<Predicate> predicates, CriteriaBuilder cb, Path<LocalDateTime> column,
+                                     LocalDate from, LocalDate to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(column, from.atStartOfDay()));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(column, to.plusDays(1).atStartOfDay()));
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
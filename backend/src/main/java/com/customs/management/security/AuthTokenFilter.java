@@ -26,15 +26,17 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            VerifiedToken token = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+            UserDetails userDetails = token != null ? loadUserDetails(token) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,6 +50,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private UserDetails loadUserDetails(VerifiedToken token) {
+        String username = token.getUsername();
+        
+        if (jwtUtils.isStatelessPrincipal()) {
+            // Tokens of disabled, deleted or modified users are refused until they sign in again
+            if (tokenRevocationService.isRevoked(username, token.getIssuedAt())) {
+                return null;
+            }
+            UserDetails principal = token.getPrincipal();
+            if (principal != null) {
+                return principal;
+            }
+        }
+        
+        return userDetailsService.loadUserByUsername(username);
+    }
+    
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         
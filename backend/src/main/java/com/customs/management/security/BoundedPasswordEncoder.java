@@ -0,0 +1,115 @@
+package com.customs.management.security;
+
+import com.customs.management.util.BoundedExecutors;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs password verification and hashing on a dedicated, bounded pool so a burst of sign-ins
+ * (including the re-hash of upgraded passwords) cannot tie up every servlet thread with CPU-bound
+ * hashing. When the pool and its queue are full, or a task waits too long, the attempt is rejected
+ * with a PasswordVerificationRejectedException.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    
+    private final AtomicLong verifications = new AtomicLong();
+    private final AtomicLong encodings = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalVerificationNanos = new AtomicLong();
+    private final AtomicLong maxVerificationNanos = new AtomicLong();
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long timeoutMs) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = BoundedExecutors.newFixedDaemonPool("password-verify", poolSize, queueCapacity);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> {
+            encodings.incrementAndGet();
+            return delegate.encode(rawPassword);
+        }, "Password hashing", "Too many concurrent password hashing requests");
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> timedMatches(rawPassword, encodedPassword), "Password verification",
+                "Too many concurrent sign-in attempts");
+    }
+    
+    private <T> T run(Callable<T> task, String operation, String rejectionMessage) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            throw new PasswordVerificationRejectedException(rejectionMessage);
+        }
+        
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timeouts.incrementAndGet();
+            throw new PasswordVerificationRejectedException(operation + " timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException(operation + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new AuthenticationServiceException(operation + " failed", e.getCause());
+        }
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    public Map<String, Object> getStats() {
+        long count = verifications.get();
+        return Map.of(
+                "poolSize", executor.getMaximumPoolSize(),
+                "activeThreads", executor.getActiveCount(),
+                "queueDepth", executor.getQueue().size(),
+                "queueRemainingCapacity", executor.getQueue().remainingCapacity(),
+                "verifications", count,
+                "encodings", encodings.get(),
+                "rejections", rejections.get(),
+                "timeouts", timeouts.get(),
+                "averageVerificationMs", count == 0 ? 0.0 : totalVerificationNanos.get() / (count * 1_000_000.0),
+                "maxVerificationMs", maxVerificationNanos.get() / 1_000_000.0
+        );
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private boolean timedMatches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            verifications.incrementAndGet();
+            totalVerificationNanos.addAndGet(elapsed);
+            maxVerificationNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.customs.management.security;
+
+import com.customs.management.entity.AuthorityName;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the caller holds any of a fixed set of authorities. For a UserPrincipal this
+ * is a bitwise EnumSet intersection; other principals fall back to comparing authority strings.
+ */
+public class EnumAuthorityAuthorizationManager<T> implements AuthorizationManager<T> {
+    
+    static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    
+    private final Set<AuthorityName> required;
+    
+    private EnumAuthorityAuthorizationManager(Set<AuthorityName> required) {
+        this.required = required;
+    }
+    
+    public static <T> EnumAuthorityAuthorizationManager<T> anyOf(AuthorityName first, AuthorityName... rest) {
+        return new EnumAuthorityAuthorizationManager<>(EnumSet.of(first, rest));
+    }
+    
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        return hasAny(authentication.get(), required) ? GRANTED : DENIED;
+    }
+    
+    static boolean hasAny(Authentication authentication, Set<AuthorityName> required) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.hasAnyAuthority(required);
+        }
+        
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            for (AuthorityName authorityName : required) {
+                if (authorityName.name().equals(grantedAuthority.getAuthority())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
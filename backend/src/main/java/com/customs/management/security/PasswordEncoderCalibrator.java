@@ -0,0 +1,53 @@
+package com.customs.management.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Measures hashing cost on the current hardware so the BCrypt strength can be picked to hit a
+ * target verification time instead of being hard-coded. Only BCrypt is calibrated, because its
+ * cost is part of the stored hash.
+ */
+public final class PasswordEncoderCalibrator {
+    
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    // Never change: Pbkdf2PasswordEncoder does not record the count in the hash, so every stored
+    // {pbkdf2} hash only verifies with the count it was created with
+    private static final int PBKDF2_ITERATIONS = 310_000;
+    
+    private PasswordEncoderCalibrator() {}
+    
+    // Highest BCrypt strength whose verification stays within the target, never below minStrength
+    public static int calibrateBcryptStrength(long targetMs, int minStrength) {
+        int strength = minStrength;
+        while (strength < MAX_BCRYPT_STRENGTH) {
+            // Each extra unit of strength doubles the cost, so one measurement predicts the next step
+            long elapsed = measureVerificationMs(new BCryptPasswordEncoder(strength));
+            if (elapsed * 2 > targetMs) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
+    }
+    
+    public static Pbkdf2PasswordEncoder pbkdf2() {
+        return new Pbkdf2PasswordEncoder("", 16, PBKDF2_ITERATIONS,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+    
+    private static long measureVerificationMs(PasswordEncoder encoder) {
+        String encoded = encoder.encode(SAMPLE_PASSWORD);
+        // Warm up once, then take the best of a few runs to filter out scheduling noise
+        encoder.matches(SAMPLE_PASSWORD, encoded);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
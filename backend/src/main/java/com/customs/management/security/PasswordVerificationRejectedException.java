@@ -0,0 +1,10 @@
+package com.customs.management.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+    
+    public PasswordVerificationRejectedException(String message) {
+        super(message);
+    }
+}
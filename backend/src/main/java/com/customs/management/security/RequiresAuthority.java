@@ -0,0 +1,22 @@
+package com.customs.management.security;
+
+import com.customs.management.entity.AuthorityName;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Grants access when the caller holds any of the listed authorities. Checked against the
+ * principal's authority bitset by RequiresAuthorityAuthorizationManager, without SpEL or
+ * string comparisons.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresAuthority {
+    
+    AuthorityName[] value();
+}
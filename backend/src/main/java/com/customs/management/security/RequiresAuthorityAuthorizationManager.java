@@ -0,0 +1,53 @@
+package com.customs.management.security;
+
+import com.customs.management.entity.AuthorityName;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Method-level authorization for {@link RequiresAuthority}. The required authority set of each
+ * method is resolved once and cached, so a check is a map lookup plus an EnumSet intersection.
+ */
+public class RequiresAuthorityAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+    
+    private final Map<Method, Set<AuthorityName>> requiredByMethod = new ConcurrentHashMap<>();
+    
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Set<AuthorityName> required = requiredByMethod.computeIfAbsent(invocation.getMethod(),
+                method -> resolveRequired(method, invocation.getThis()));
+        if (required.isEmpty()) {
+            return null;
+        }
+        
+        return EnumAuthorityAuthorizationManager.hasAny(authentication.get(), required)
+                ? EnumAuthorityAuthorizationManager.GRANTED
+                : EnumAuthorityAuthorizationManager.DENIED;
+    }
+    
+    private Set<AuthorityName> resolveRequired(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        
+        RequiresAuthority annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresAuthority.class);
+        if (annotation == null || annotation.value().length == 0) {
+            return Set.of();
+        }
+        
+        EnumSet<AuthorityName> required = EnumSet.noneOf(AuthorityName.class);
+        required.addAll(Arrays.asList(annotation.value()));
+        return required;
+    }
+}
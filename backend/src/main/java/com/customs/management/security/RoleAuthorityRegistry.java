@@ -0,0 +1,59 @@
+package com.customs.management.security;
+
+import com.customs.management.entity.Authority;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.entity.Role;
+import com.customs.management.entity.RoleName;
+import com.customs.management.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Role to authority masks, loaded from role_authorities once the application has started so
+ * principals can expand their roles without touching the database.
+ */
+@Component
+public class RoleAuthorityRegistry {
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    private volatile Map<RoleName, EnumSet<AuthorityName>> authoritiesByRole;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        Map<RoleName, EnumSet<AuthorityName>> masks = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            EnumSet<AuthorityName> mask = EnumSet.noneOf(AuthorityName.class);
+            for (Authority authority : role.getAuthorities()) {
+                mask.add(authority.getName());
+            }
+            masks.put(role.getName(), mask);
+        }
+        this.authoritiesByRole = masks;
+    }
+    
+    public EnumSet<AuthorityName> authoritiesFor(Collection<RoleName> roles) {
+        if (authoritiesByRole == null) {
+            reload();
+        }
+        
+        EnumSet<AuthorityName> authorities = EnumSet.noneOf(AuthorityName.class);
+        for (RoleName role : roles) {
+            EnumSet<AuthorityName> mask = authoritiesByRole.get(role);
+            if (mask != null) {
+                authorities.addAll(mask);
+            }
+        }
+        return authorities;
+    }
+}
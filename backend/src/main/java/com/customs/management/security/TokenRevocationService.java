@@ -0,0 +1,109 @@
+package com.customs.management.security;
+
+import com.customs.management.entity.TokenRevocation;
+import com.customs.management.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks users whose outstanding tokens must no longer be trusted without a database lookup
+ * (disabled, deleted, roles changed or password reset). Token iat claims only have second
+ * precision, so a revocation takes effect from the start of the next whole second: any token
+ * with an earlier iat is rejected, and tokens issued in the meantime are stamped with that
+ * second (see {@link #issueTimeFor}) so a sign-in right after the revocation is accepted. Revocations are stored in token_revocations with the change that
+ * caused them, loaded at startup and refreshed periodically, so they survive restarts and reach
+ * other instances. Entries only need to live as long as a token can, so they are pruned after
+ * the JWT expiration window.
+ */
+@Component
+public class TokenRevocationService {
+    
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+    
+    // Username -> earliest iat (epoch millis) a trusted token may carry
+    private final Map<String, Long> tokensValidFrom = new ConcurrentHashMap<>();
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public TokenRevocationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+    
+    // Joins the caller's transaction, so the revocation commits together with the user change
+    // and only takes effect in memory once it has committed
+    public void revokeTokensFor(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.save(new TokenRevocation(username, now));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revoke(username, now);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revoke(username, now);
+            }
+        });
+    }
+    
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long validFrom = tokensValidFrom.get(username);
+        if (validFrom == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() < validFrom;
+    }
+    
+    // The issue time for a new token: now, or the second a pending revocation takes effect if that is later
+    public Date issueTimeFor(String username, Date now) {
+        Long validFrom = tokensValidFrom.get(username);
+        return validFrom != null && validFrom > now.getTime() ? new Date(validFrom) : now;
+    }
+    
+    // Picks up revocations made by other instances and drops ones no live token can predate
+    @Scheduled(fixedDelayString = "${security.token-revocation.refresh-interval-ms:30000}",
+               initialDelayString = "${security.token-revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jwtExpirationMs * 1_000_000);
+        transactionTemplate.executeWithoutResult(status -> {
+            tokenRevocationRepository.deleteRevokedBefore(cutoff);
+            for (TokenRevocation revocation : tokenRevocationRepository.findRevokedSince(cutoff)) {
+                revoke(revocation.getUsername(), revocation.getRevokedAt());
+            }
+        });
+        long cutoffMillis = toMillis(cutoff);
+        tokensValidFrom.values().removeIf(time -> time < cutoffMillis);
+    }
+    
+    // Stores the start of the second after the revocation, the first iat a valid token can carry
+    private void revoke(String username, LocalDateTime time) {
+        long validFrom = (toMillis(time) / 1000 + 1) * 1000;
+        tokensValidFrom.merge(username, validFrom, Math::max);
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,22 +1,45 @@
 package com.customs.management.security;
 
 import com.customs.management.entity.Authority;
+import com.customs.management.entity.AuthorityName;
 import com.customs.management.entity.Role;
+import com.customs.management.entity.RoleName;
 import com.customs.management.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class UserPrincipal implements UserDetails {
     
+    // One shared GrantedAuthority per enum constant, so principals never build authority strings
+    private static final Map<RoleName, GrantedAuthority> ROLE_AUTHORITIES = new EnumMap<>(RoleName.class);
+    private static final Map<AuthorityName, GrantedAuthority> AUTHORITIES = new EnumMap<>(AuthorityName.class);
+    
+    static {
+        for (RoleName roleName : RoleName.values()) {
+            ROLE_AUTHORITIES.put(roleName, new SimpleGrantedAuthority("ROLE_" + roleName.name()));
+        }
+        for (AuthorityName authorityName : AuthorityName.values()) {
+            AUTHORITIES.put(authorityName, new SimpleGrantedAuthority(authorityName.name()));
+        }
+    }
+    
     private Long id;
     private String username;
     private String email;
     private String password;
+    private Set<RoleName> roles;
+    private Set<AuthorityName> authoritySet;
     private Collection<? extends GrantedAuthority> authorities;
     private boolean enabled;
     private boolean accountNonExpired;
@@ -24,13 +47,15 @@ public class UserPrincipal implements UserDetails {
     private boolean credentialsNonExpired;
     
     public UserPrincipal(Long id, String username, String email, String password,
-                        Collection<? extends GrantedAuthority> authorities, boolean enabled,
+                        Set<RoleName> roles, Set<AuthorityName> authoritySet, boolean enabled,
                         boolean accountNonExpired, boolean accountNonLocked, boolean credentialsNonExpired) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
-        this.authorities = authorities;
+        this.roles = copyOf(roles, RoleName.class);
+        this.authoritySet = copyOf(authoritySet, AuthorityName.class);
+        this.authorities = toGrantedAuthorities(this.roles, this.authoritySet);
         this.enabled = enabled;
         this.accountNonExpired = accountNonExpired;
         this.accountNonLocked = accountNonLocked;
@@ -38,15 +63,14 @@ public class UserPrincipal implements UserDetails {
     }
     
     public static UserPrincipal create(User user) {
-        Set<GrantedAuthority> authorities = new HashSet<>();
+        EnumSet<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        EnumSet<AuthorityName> authoritySet = EnumSet.noneOf(AuthorityName.class);
         
-        // Add roles as authorities with ROLE_ prefix
         for (Role role : user.getRoles()) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getName().name()));
+            roles.add(role.getName());
             
-            // Add individual authorities
             for (Authority authority : role.getAuthorities()) {
-                authorities.add(new SimpleGrantedAuthority(authority.getName().name()));
+                authoritySet.add(authority.getName());
             }
         }
         
@@ -55,7 +79,8 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities,
+                roles,
+                authoritySet,
                 user.getEnabled(),
                 user.getAccountNonExpired(),
                 user.getAccountNonLocked(),
@@ -63,6 +88,45 @@ public class UserPrincipal implements UserDetails {
         );
     }
     
+    // Builds a principal from token claims, without touching the database
+    public static UserPrincipal create(Long id, String username, String email,
+                                       Set<RoleName> roles, Set<AuthorityName> authoritySet) {
+        return new UserPrincipal(id, username, email, null, roles, authoritySet, true, true, true, true);
+    }
+    
+    private static <E extends Enum<E>> Set<E> copyOf(Set<E> values, Class<E> type) {
+        return Collections.unmodifiableSet(values.isEmpty() ? EnumSet.noneOf(type) : EnumSet.copyOf(values));
+    }
+    
+    private static List<GrantedAuthority> toGrantedAuthorities(Set<RoleName> roles, Set<AuthorityName> authoritySet) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size() + authoritySet.size());
+        
+        // Roles as authorities with ROLE_ prefix
+        for (RoleName role : roles) {
+            authorities.add(ROLE_AUTHORITIES.get(role));
+        }
+        
+        // Individual authorities
+        for (AuthorityName authority : authoritySet) {
+            authorities.add(AUTHORITIES.get(authority));
+        }
+        
+        return Collections.unmodifiableList(authorities);
+    }
+    
+    public boolean hasAuthority(AuthorityName authority) {
+        return authoritySet.contains(authority);
+    }
+    
+    public boolean hasAnyAuthority(Set<AuthorityName> required) {
+        for (AuthorityName authority : required) {
+            if (authoritySet.contains(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     // Getters
     public Long getId() {
         return id;
@@ -72,6 +136,22 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
     
+    public Set<RoleName> getRoles() {
+        return roles;
+    }
+    
+    public Set<AuthorityName> getAuthoritySet() {
+        return authoritySet;
+    }
+    
+    public Set<String> getRoleNames() {
+        return roles.stream().map(Enum::name).collect(Collectors.toSet());
+    }
+    
+    public Set<String> getAuthorityNames() {
+        return authoritySet.stream().map(Enum::name).collect(Collectors.toSet());
+    }
+    
     @Override
     public String getUsername() {
         return username;
@@ -0,0 +1,128 @@
+package com.customs.management.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded, TTL-expiring cache of principals keyed by username. Entries are evicted in
+ * least-recently-used order once the cache is full, and must be invalidated whenever the
+ * underlying user, its roles or its credentials change.
+ */
+@Component
+public class UserPrincipalCache {
+    
+    @Value("${security.user-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${security.user-cache.max-size:1000}")
+    private int maxSize;
+    
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            if (size() > maxSize) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    
+    public UserPrincipal get(String username) {
+        if (!enabled) {
+            return null;
+        }
+        
+        synchronized (entries) {
+            CacheEntry entry = entries.get(username);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(username);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.principal;
+        }
+    }
+    
+    public void put(String username, UserPrincipal principal) {
+        if (!enabled) {
+            return;
+        }
+        
+        long expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        synchronized (entries) {
+            entries.put(username, new CacheEntry(principal, expiresAt));
+        }
+    }
+    
+    // Evicts now and, inside a transaction, again after commit: a concurrent load that read the
+    // old committed row before the commit must not leave it cached for the full TTL
+    public void invalidate(String username) {
+        remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(username);
+                }
+            });
+        }
+    }
+    
+    private void remove(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+    
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        
+        return Map.of(
+                "enabled", enabled,
+                "size", size,
+                "maxSize", maxSize,
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "evictions", evictions.get()
+        );
+    }
+    
+    private static class CacheEntry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+        
+        CacheEntry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
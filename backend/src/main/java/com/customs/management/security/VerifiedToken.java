@@ -0,0 +1,35 @@
+package com.customs.management.security;
+
+import java.util.Date;
+
+/**
+ * Immutable result of verifying a JWT: the subject, the issue time and, for stateless tokens,
+ * the principal rebuilt from its claims. Safe to share between requests.
+ */
+public final class VerifiedToken {
+    
+    private final String username;
+    private final Long issuedAt;
+    private final UserPrincipal principal;
+    
+    public VerifiedToken(String username, Date issuedAt, UserPrincipal principal) {
+        this.username = username;
+        this.issuedAt = issuedAt != null ? issuedAt.getTime() : null;
+        this.principal = principal;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public Date getIssuedAt() {
+        return issuedAt != null ? new Date(issuedAt) : null;
+    }
+    
+    /**
+     * The principal carried in the token, or null if it was issued without principal claims.
+     */
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+}
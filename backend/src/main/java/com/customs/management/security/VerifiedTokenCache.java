@@ -0,0 +1,89 @@
+package com.customs.management.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by the raw token string,
+ * so repeated requests with the same Bearer token skip the HS512 check. Entries expire a fixed
+ * time after they are written, or at the token's own expiry if that comes first. The number of
+ * entries is capped by dropping the earliest written; that entry is not necessarily the next to
+ * expire, so the cap only bounds memory and expiry is always checked on read.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${jwt.verified-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private final ConcurrentHashMap<String, CachedToken> entries = new ConcurrentHashMap<>();
+    
+    // Keys in write order, used to evict once the cap is exceeded
+    private final Queue<String> writeOrder = new ConcurrentLinkedQueue<>();
+    
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        
+        CachedToken cached = entries.get(token);
+        // Expired entries are left in place so every key is queued exactly once;
+        // they are overwritten by the next put or dropped by the size cap
+        if (cached == null || cached.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return cached.token;
+    }
+    
+    public void put(String token, VerifiedToken verified, Date expiration) {
+        if (!enabled) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlSeconds * 1000;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        
+        if (entries.put(token, new CachedToken(verified, expiresAt)) == null) {
+            writeOrder.offer(token);
+        }
+        while (entries.size() > maxSize) {
+            String eldest = writeOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            entries.remove(eldest);
+        }
+    }
+    
+    public void clear() {
+        entries.clear();
+        writeOrder.clear();
+    }
+    
+    private static final class CachedToken {
+        private final VerifiedToken token;
+        private final long expiresAt;
+        
+        CachedToken(VerifiedToken token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import com.customs.management.entity.RoleName;
 import com.customs.management.entity.User;
 import com.customs.management.repository.UserRepository;
 import com.customs.management.repository.RoleRepository;
+import com.customs.management.security.BoundedPasswordEncoder;
+import com.customs.management.security.TokenRevocationService;
+import com.customs.management.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,16 +35,25 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Transactional(readOnly = true)
     public Page<UserDto> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable)
                 .map(this::convertToUserDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserById(Long id) {
         return userRepository.findById(id)
                 .map(this::convertToUserDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .map(this::convertToUserDto);
@@ -51,6 +64,10 @@ public class AdminService {
                 .map(user -> {
                     user.setEnabled(enabled);
                     User updatedUser = userRepository.save(user);
+                    userPrincipalCache.invalidate(user.getUsername());
+                    if (!enabled) {
+                        tokenRevocationService.revokeTokensFor(user.getUsername());
+                    }
                     return convertToUserDto(updatedUser);
                 });
     }
@@ -78,12 +95,17 @@ public class AdminService {
         
         user.setRoles(roles);
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
+        tokenRevocationService.revokeTokensFor(user.getUsername());
         return Optional.of(convertToUserDto(updatedUser));
     }
 
     public boolean deleteUser(Long userId) {
-        if (userRepository.existsById(userId)) {
-            userRepository.deleteById(userId);
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isPresent()) {
+            userRepository.delete(userOpt.get());
+            userPrincipalCache.invalidate(userOpt.get().getUsername());
+            tokenRevocationService.revokeTokensFor(userOpt.get().getUsername());
             return true;
         }
         return false;
@@ -129,6 +151,17 @@ public class AdminService {
         return convertToUserDto(savedUser);
     }
 
+    public Map<String, Object> getUserCacheStats() {
+        return userPrincipalCache.getStats();
+    }
+
+    public Map<String, Object> getPasswordVerificationStats() {
+        if (passwordEncoder instanceof BoundedPasswordEncoder boundedPasswordEncoder) {
+            return boundedPasswordEncoder.getStats();
+        }
+        return Map.of();
+    }
+
     private UserDto convertToUserDto(User user) {
         UserDto dto = new UserDto();
         dto.setId(user.getId());
@@ -4,6 +4,8 @@ import com.customs.management.entity.User;
 import com.customs.management.entity.PasswordResetToken;
 import com.customs.management.repository.UserRepository;
 import com.customs.management.repository.PasswordResetTokenRepository;
+import com.customs.management.security.TokenRevocationService;
+import com.customs.management.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,6 +31,18 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+    
+    @Autowired
+    private PasswordResetTokenCleanupJob passwordResetTokenCleanupJob;
+    
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsernameWithRolesAndAuthorities(username);
     }
@@ -46,11 +60,9 @@ public class AuthService {
         return userRepository.save(user);
     }
     
+    // Queued and written in batches by LastLoginRecorder
     public void updateLastLogin(String username) {
-        userRepository.findByUsername(username).ifPresent(user -> {
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-        });
+        lastLoginRecorder.record(username, LocalDateTime.now());
     }
     
     public String createPasswordResetToken(String username) {
@@ -105,13 +117,16 @@ public class AuthService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
+        tokenRevocationService.revokeTokensFor(user.getUsername());
         
         // Mark token as used
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
     }
     
-    public void cleanupExpiredTokens() {
-        passwordResetTokenRepository.deleteByExpiryDateLessThan(LocalDateTime.now());
+    // Runs on a schedule as well; each chunk commits in its own transaction
+    public int cleanupExpiredTokens() {
+        return passwordResetTokenCleanupJob.purgeExpiredTokens();
     }
 }
@@ -0,0 +1,164 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CreateCargoEntryRequest;
+import com.customs.management.dto.ImportResult;
+import com.customs.management.repository.CargoEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports cargo manifests (CSV with a header row, or one JSON object per line) while
+ * reading the upload line by line. Rows are validated, checked for duplicate cargo IDs
+ * one chunk at a time and inserted one transaction per chunk, so memory use does not
+ * grow with the size of the manifest.
+ */
+@Service
+public class CargoManifestImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargoManifestImportService.class);
+
+    @Autowired
+    private CargoService cargoService;
+
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.cargo.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.cargo.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.cargo.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    // Every chunk goes through createCargoBatch, so a larger chunk would fail every row
+    @PostConstruct
+    public void checkChunkSize() {
+        if (chunkSize < 1 || chunkSize > maxBatchSize) {
+            throw new IllegalStateException("app.cargo.import.chunk-size must be between 1 and app.cargo.batch.max-size ("
+                    + maxBatchSize + "), was " + chunkSize);
+        }
+    }
+
+    public ImportResult importManifest(InputStream input, ManifestFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult(maxReportedErrors);
+        List<ManifestRow> chunk = new ArrayList<>(chunkSize);
+
+        manifestReader().read(input, format, new ManifestReader.Handler<>() {
+            @Override
+            public void onRecord(long line, CreateCargoEntryRequest request) {
+                result.recordRow();
+                Set<ConstraintViolation<CreateCargoEntryRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    ConstraintViolation<CreateCargoEntryRequest> first = violations.iterator().next();
+                    result.recordFailure(line, request.getCargoId(), first.getPropertyPath() + ": " + first.getMessage());
+                    return;
+                }
+                chunk.add(new ManifestRow(line, request));
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+
+            @Override
+            public void onMalformed(long line, String message) {
+                result.recordRow();
+                result.recordFailure(line, null, message);
+            }
+        });
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        logger.info("Imported {} of {} manifest rows ({} failed) in {} ms",
+                result.getImported(), result.getTotalRows(), result.getFailed(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private void writeChunk(List<ManifestRow> chunk, ImportResult result) {
+        // Earlier chunks are already committed, so the DB lookup also catches repeats across the file
+        Map<String, ManifestRow> unique = new LinkedHashMap<>();
+        for (ManifestRow row : chunk) {
+            if (unique.putIfAbsent(row.request.getCargoId(), row) != null) {
+                result.recordFailure(row.line, row.request.getCargoId(), "Duplicate cargo ID in manifest");
+            }
+        }
+        Set<String> existing = new HashSet<>(cargoEntryRepository.findExistingCargoIds(unique.keySet()));
+
+        List<CreateCargoEntryRequest> accepted = new ArrayList<>(unique.size());
+        List<ManifestRow> acceptedRows = new ArrayList<>(unique.size());
+        for (ManifestRow row : unique.values()) {
+            if (existing.contains(row.request.getCargoId())) {
+                result.recordFailure(row.line, row.request.getCargoId(), "Cargo ID already exists");
+            } else {
+                accepted.add(row.request);
+                acceptedRows.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            result.recordImported(cargoService.createCargoBatch(accepted).size());
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            // A concurrent insert won the race for one of the IDs; the whole chunk rolled back
+            for (ManifestRow row : acceptedRows) {
+                result.recordFailure(row.line, row.request.getCargoId(), "Chunk rejected: " + e.getMessage());
+            }
+        }
+    }
+
+    private ManifestReader<CreateCargoEntryRequest> manifestReader() {
+        return new ManifestReader<>(objectMapper, CreateCargoEntryRequest.class, record -> {
+            CreateCargoEntryRequest request = new CreateCargoEntryRequest();
+            request.setCargoId(record.get("cargoId"));
+            request.setDescription(record.get("description"));
+            request.setOrigin(record.get("origin"));
+            request.setDestination(record.get("destination"));
+            request.setDeclaredValue(record.getDecimal("declaredValue"));
+            request.setWeight(record.getDecimal("weight"));
+            request.setVolume(record.getDecimal("volume"));
+            request.setHsCode(record.get("hsCode"));
+            request.setArrivalDate(record.getDateTime("arrivalDate"));
+            request.setRemarks(record.get("remarks"));
+            return request;
+        });
+    }
+
+    private static final class ManifestRow {
+        private final long line;
+        private final CreateCargoEntryRequest request;
+
+        private ManifestRow(long line, CreateCargoEntryRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.customs.management.service;
+
+import com.customs.management.entity.CargoEntry;
+import com.customs.management.entity.CargoRollupChange;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.repository.CargoRollupChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes signed rollup deltas for cargo changes into cargo_rollup_changes. Called from
+ * CargoService inside its transaction, so the change log commits or rolls back together
+ * with the cargo rows. Deltas for the same rollup key are merged before they are written.
+ */
+@Service
+public class CargoRollupRecorder {
+
+    @Autowired
+    private CargoRollupChangeRepository cargoRollupChangeRepository;
+
+    public static Snapshot snapshot(CargoEntry cargo) {
+        return new Snapshot(cargo);
+    }
+
+    public void recordCreated(Collection<CargoEntry> entries) {
+        Map<Snapshot, CargoRollupChange> deltas = new LinkedHashMap<>();
+        for (CargoEntry cargo : entries) {
+            add(deltas, new Snapshot(cargo), 1);
+        }
+        cargoRollupChangeRepository.saveAll(deltas.values());
+    }
+
+    // Retracts the old facts and adds the new ones; nothing is written if no rolled-up field changed
+    public void recordChanged(Snapshot before, CargoEntry after) {
+        Snapshot current = new Snapshot(after);
+        if (before.equals(current)) {
+            return;
+        }
+        Map<Snapshot, CargoRollupChange> deltas = new LinkedHashMap<>();
+        add(deltas, before, -1);
+        add(deltas, current, 1);
+        cargoRollupChangeRepository.saveAll(deltas.values());
+    }
+
+    public void recordDeleted(CargoEntry cargo) {
+        Map<Snapshot, CargoRollupChange> deltas = new LinkedHashMap<>();
+        add(deltas, new Snapshot(cargo), -1);
+        cargoRollupChangeRepository.saveAll(deltas.values());
+    }
+
+    private void add(Map<Snapshot, CargoRollupChange> deltas, Snapshot facts, int sign) {
+        CargoRollupChange change = deltas.computeIfAbsent(facts.keyOnly(), key -> {
+            CargoRollupChange created = new CargoRollupChange();
+            created.setDay(key.day);
+            created.setOrigin(key.origin);
+            created.setDestination(key.destination);
+            created.setHsCode(key.hsCode);
+            created.setStatus(key.status);
+            return created;
+        });
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        change.setEntryCount(change.getEntryCount() + sign);
+        change.setDeclaredValue(change.getDeclaredValue().add(facts.declaredValue.multiply(factor)));
+        change.setDutyCalculated(change.getDutyCalculated().add(facts.dutyCalculated.multiply(factor)));
+        change.setDutyPaid(change.getDutyPaid().add(facts.dutyPaid.multiply(factor)));
+    }
+
+    /**
+     * The fields of a cargo entry that feed the rollups: the key dimensions plus the summed amounts.
+     */
+    public static final class Snapshot {
+        private final LocalDate day;
+        private final String origin;
+        private final String destination;
+        private final String hsCode;
+        private final CargoStatus status;
+        private final BigDecimal declaredValue;
+        private final BigDecimal dutyCalculated;
+        private final BigDecimal dutyPaid;
+
+        private Snapshot(CargoEntry cargo) {
+            LocalDateTime createdAt = cargo.getCreatedAt() != null ? cargo.getCreatedAt() : LocalDateTime.now();
+            this.day = createdAt.toLocalDate();
+            this.origin = cargo.getOrigin();
+            this.destination = cargo.getDestination();
+            this.hsCode = cargo.getHsCode() != null ? cargo.getHsCode() : "";
+            this.status = cargo.getStatus();
+            this.declaredValue = amount(cargo.getDeclaredValue());
+            this.dutyCalculated = amount(cargo.getDutyCalculated());
+            this.dutyPaid = amount(cargo.getDutyPaid());
+        }
+
+        private Snapshot(Snapshot source) {
+            this.day = source.day;
+            this.origin = source.origin;
+            this.destination = source.destination;
+            this.hsCode = source.hsCode;
+            this.status = source.status;
+            this.declaredValue = BigDecimal.ZERO;
+            this.dutyCalculated = BigDecimal.ZERO;
+            this.dutyPaid = BigDecimal.ZERO;
+        }
+
+        private Snapshot keyOnly() {
+            return new Snapshot(this);
+        }
+
+        private static BigDecimal amount(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Snapshot other)) {
+                return false;
+            }
+            return day.equals(other.day)
+                    && Objects.equals(origin, other.origin)
+                    && Objects.equals(destination, other.destination)
+                    && hsCode.equals(other.hsCode)
+                    && status == other.status
+                    && declaredValue.compareTo(other.declaredValue) == 0
+                    && dutyCalculated.compareTo(other.dutyCalculated) == 0
+                    && dutyPaid.compareTo(other.dutyPaid) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            // Amounts are compared by value, so they stay out of the hash
+            return Objects.hash(day, origin, destination, hsCode, status);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CargoReportRowDto;
+import com.customs.management.entity.CargoDailyRollup;
+import com.customs.management.entity.CargoRollupChange;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.repository.CargoDailyRollupRepository;
+import com.customs.management.repository.CargoEntryRepository;
+import com.customs.management.repository.CargoRollupChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintains cargo_daily_rollups and answers cargo reports from it. Deltas recorded by
+ * {@link CargoRollupRecorder} are folded into the rollups on a fixed delay, so reports
+ * lag writes by at most one apply interval; {@link #rebuild()} recomputes everything
+ * from cargo_entries for backfill or repair. Several instances can apply changes at once:
+ * each claims its change rows with FOR UPDATE SKIP LOCKED and folds them in with an
+ * upsert that increments the rollup row in place.
+ */
+@Service
+public class CargoRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargoRollupService.class);
+
+    // Rollup keys are upserted in this order so concurrent appliers lock rows in the same sequence
+    private static final Comparator<CargoDailyRollup> KEY_ORDER = Comparator
+            .comparing(CargoDailyRollup::getDay)
+            .thenComparing(CargoDailyRollup::getOrigin)
+            .thenComparing(CargoDailyRollup::getDestination)
+            .thenComparing(CargoDailyRollup::getHsCode)
+            .thenComparing(CargoDailyRollup::getStatus);
+
+    private static final String INCREMENTS = "entry_count = r.entry_count + %1$s.entry_count, "
+            + "declared_value = r.declared_value + %1$s.declared_value, "
+            + "duty_calculated = r.duty_calculated + %1$s.duty_calculated, "
+            + "duty_paid = r.duty_paid + %1$s.duty_paid";
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO cargo_daily_rollups AS r (id, rollup_day, origin, destination, "
+            + "hs_code, status, entry_count, declared_value, duty_calculated, duty_paid) "
+            + "VALUES (nextval('cargo_daily_rollups_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT ON CONSTRAINT uk_cargo_daily_rollups_key DO UPDATE SET " + INCREMENTS.formatted("EXCLUDED");
+
+    // H2 (dev profiles) has no ON CONFLICT; its MERGE also updates the matched row in place
+    private static final String MERGE_UPSERT = "MERGE INTO cargo_daily_rollups r USING (VALUES (CAST(? AS DATE), "
+            + "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(255)), "
+            + "CAST(? AS BIGINT), CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(19, 2)))) "
+            + "AS s (rollup_day, origin, destination, hs_code, status, entry_count, declared_value, duty_calculated, duty_paid) "
+            + "ON r.rollup_day = s.rollup_day AND r.origin = s.origin AND r.destination = s.destination "
+            + "AND r.hs_code = s.hs_code AND r.status = s.status "
+            + "WHEN MATCHED THEN UPDATE SET " + INCREMENTS.formatted("s") + " "
+            + "WHEN NOT MATCHED THEN INSERT (id, rollup_day, origin, destination, hs_code, status, entry_count, "
+            + "declared_value, duty_calculated, duty_paid) VALUES (NEXT VALUE FOR cargo_daily_rollups_seq, s.rollup_day, "
+            + "s.origin, s.destination, s.hs_code, s.status, s.entry_count, s.declared_value, s.duty_calculated, s.duty_paid)";
+
+    // Report dimensions mapped to their rollup columns; anything else is rejected
+    private static final Map<String, String> DIMENSIONS = Map.of(
+            "origin", "r.origin",
+            "destination", "r.destination",
+            "hsCode", "r.hsCode",
+            "status", "r.status");
+
+    @Autowired
+    private CargoRollupChangeRepository cargoRollupChangeRepository;
+
+    @Autowired
+    private CargoDailyRollupRepository cargoDailyRollupRepository;
+
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.reports.rollup.apply-chunk-size:5000}")
+    private int applyChunkSize;
+
+    @Value("${app.reports.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private String upsertSql;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    public CargoRollupService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Rebuild clears the change log and aggregates cargo_entries from one snapshot, so every
+        // cargo write is either in the aggregate or still in the log, never both
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    public void init() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        upsertSql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.rollup.apply-interval-ms:10000}",
+               initialDelayString = "${app.reports.rollup.apply-interval-ms:10000}")
+    public synchronized void applyChanges() {
+        long start = System.currentTimeMillis();
+        int applied = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(tx -> applyChunk());
+            applied += chunk;
+        } while (chunk == applyChunkSize);
+        if (applied > 0) {
+            logger.info("Applied {} cargo rollup changes in {} ms", applied, System.currentTimeMillis() - start);
+        }
+    }
+
+    // Recomputes every rollup from cargo_entries. Change rows visible in the snapshot are already
+    // reflected in the aggregate and are dropped; later ones are applied on top as usual.
+    public synchronized long rebuild() {
+        long start = System.currentTimeMillis();
+        long rows = snapshotTransaction.execute(tx -> {
+            cargoRollupChangeRepository.deleteAllVisible();
+            cargoDailyRollupRepository.deleteAllInBatch();
+            List<CargoDailyRollup> batch = new ArrayList<>();
+            long count = 0;
+            for (Object[] row : cargoEntryRepository.aggregateDailyRollups()) {
+                CargoDailyRollup rollup = new CargoDailyRollup();
+                rollup.setDay((LocalDate) row[0]);
+                rollup.setOrigin((String) row[1]);
+                rollup.setDestination((String) row[2]);
+                rollup.setHsCode((String) row[3]);
+                rollup.setStatus((CargoStatus) row[4]);
+                rollup.setEntryCount(((Number) row[5]).longValue());
+                rollup.setDeclaredValue(decimal(row[6]));
+                rollup.setDutyCalculated(decimal(row[7]));
+                rollup.setDutyPaid(decimal(row[8]));
+                batch.add(rollup);
+                if (batch.size() == applyChunkSize) {
+                    count += flush(batch);
+                }
+            }
+            return count + flush(batch);
+        });
+        logger.info("Rebuilt {} cargo daily rollups in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CargoReportRowDto> getSummary(String groupBy, LocalDate from, LocalDate to, CargoStatus status) {
+        String column = DIMENSIONS.get(groupBy);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported groupBy: " + groupBy + "; expected one of " + DIMENSIONS.keySet());
+        }
+        return report(column, from, to, status, "SUM(r.entryCount) DESC");
+    }
+
+    @Transactional(readOnly = true)
+    public List<CargoReportRowDto> getDailyTotals(LocalDate from, LocalDate to, CargoStatus status) {
+        return report("r.day", from, to, status, "r.day");
+    }
+
+    private List<CargoReportRowDto> report(String column, LocalDate from, LocalDate to, CargoStatus status, String orderBy) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        String jpql = "SELECT " + column + ", SUM(r.entryCount), SUM(r.declaredValue), SUM(r.dutyCalculated), SUM(r.dutyPaid) "
+                + "FROM CargoDailyRollup r WHERE r.day BETWEEN :from AND :to"
+                + (status != null ? " AND r.status = :status" : "")
+                + " GROUP BY " + column + " ORDER BY " + orderBy;
+        var query = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        List<CargoReportRowDto> rows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            rows.add(new CargoReportRowDto(String.valueOf(row[0]), ((Number) row[1]).longValue(),
+                    decimal(row[2]), decimal(row[3]), decimal(row[4])));
+        }
+        return rows;
+    }
+
+    private int applyChunk() {
+        List<CargoRollupChange> changes = cargoRollupChangeRepository.claimOldest(PageRequest.of(0, applyChunkSize));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        // Net delta per rollup key, so each touched row is written once; keyed by the rollup's natural key
+        Map<CargoDailyRollup, CargoDailyRollup> deltas = new TreeMap<>(KEY_ORDER);
+        Set<LocalDate> days = new HashSet<>();
+        List<Long> ids = new ArrayList<>(changes.size());
+        for (CargoRollupChange change : changes) {
+            CargoDailyRollup probe = new CargoDailyRollup();
+            probe.setDay(change.getDay());
+            probe.setOrigin(change.getOrigin());
+            probe.setDestination(change.getDestination());
+            probe.setHsCode(change.getHsCode());
+            probe.setStatus(change.getStatus());
+            CargoDailyRollup delta = deltas.computeIfAbsent(probe, k -> probe);
+            delta.setEntryCount(delta.getEntryCount() + change.getEntryCount());
+            delta.setDeclaredValue(delta.getDeclaredValue().add(change.getDeclaredValue()));
+            delta.setDutyCalculated(delta.getDutyCalculated().add(change.getDutyCalculated()));
+            delta.setDutyPaid(delta.getDutyPaid().add(change.getDutyPaid()));
+            days.add(change.getDay());
+            ids.add(change.getId());
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (CargoDailyRollup delta : deltas.values()) {
+            rows.add(new Object[] {delta.getDay(), delta.getOrigin(), delta.getDestination(), delta.getHsCode(),
+                    delta.getStatus().name(), delta.getEntryCount(), delta.getDeclaredValue(),
+                    delta.getDutyCalculated(), delta.getDutyPaid()});
+        }
+        jdbcTemplate.batchUpdate(upsertSql, rows);
+        cargoDailyRollupRepository.deleteEmptied(days);
+        cargoRollupChangeRepository.deleteByIdIn(ids);
+        entityManager.clear();
+        return changes.size();
+    }
+
+    private int flush(List<CargoDailyRollup> batch) {
+        int size = batch.size();
+        cargoDailyRollupRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+        return size;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
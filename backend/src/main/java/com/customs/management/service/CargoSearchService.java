@@ -0,0 +1,191 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CargoEntryDto;
+import com.customs.management.repository.CargoEntryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Free-text search over cargo descriptions and remarks, with HS code prefix filtering.
+ * On PostgreSQL it uses the generated cargo_entries.search_vector column and its GIN
+ * index (V4 migration), ranked with ts_rank; the column is maintained by the database
+ * on every insert and update. Other databases (the H2 dev profiles) fall back to
+ * case-insensitive LIKE matching, which scans but is fine for dev-sized data.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CargoSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargoSearchService.class);
+
+    private static final String TS_CONFIG = "english";
+
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.search.max-query-length:200}")
+    private int maxQueryLength;
+
+    private boolean fullTextIndex;
+
+    @PostConstruct
+    public void init() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        fullTextIndex = "PostgreSQL".equalsIgnoreCase(product);
+        logger.info("Cargo search using {}", fullTextIndex ? "PostgreSQL full-text index" : "LIKE fallback");
+    }
+
+    public Page<CargoEntryDto> search(String text, String hsCodePrefix, Pageable pageable) {
+        String query = text != null ? text.trim() : "";
+        String prefix = hsCodePrefix != null ? hsCodePrefix.trim() : "";
+        if (query.isEmpty() && prefix.isEmpty()) {
+            throw new IllegalArgumentException("Provide a search text (q) or an HS code prefix (hsCode)");
+        }
+        if (query.length() > maxQueryLength) {
+            throw new IllegalArgumentException("Search text must not exceed " + maxQueryLength + " characters");
+        }
+        // Text made only of punctuation would otherwise drop every condition and match all rows
+        List<String> terms = terms(query);
+        if (!query.isEmpty() && terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain at least one letter or digit");
+        }
+        String hsPattern = prefix.isEmpty() ? null : escapeLike(prefix) + "%";
+        return fullTextIndex
+                ? searchFullText(query, hsPattern, pageable)
+                : searchLike(terms, hsPattern, pageable);
+    }
+
+    private Page<CargoEntryDto> searchFullText(String query, String hsPattern, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (!query.isEmpty()) {
+            where.append(" AND c.search_vector @@ websearch_to_tsquery('" + TS_CONFIG + "', ?)");
+            params.add(query);
+        }
+        if (hsPattern != null) {
+            // Served by the text_pattern_ops index on hs_code
+            where.append(" AND c.hs_code LIKE ? ESCAPE '\\'");
+            params.add(hsPattern);
+        }
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cargo_entries c" + where, Long.class, params.toArray());
+        if (total == null || total == 0) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        String orderBy = query.isEmpty()
+                ? " ORDER BY c.hs_code, c.id"
+                : " ORDER BY ts_rank(c.search_vector, websearch_to_tsquery('" + TS_CONFIG + "', ?)) DESC, c.id DESC";
+        List<Object> pageParams = new ArrayList<>(params);
+        if (!query.isEmpty()) {
+            pageParams.add(query);
+        }
+        pageParams.add(pageable.getPageSize());
+        pageParams.add(pageable.getOffset());
+        List<Long> ids = jdbcTemplate.queryForList("SELECT c.id FROM cargo_entries c" + where + orderBy + " LIMIT ? OFFSET ?",
+                Long.class, pageParams.toArray());
+        return new PageImpl<>(inRankOrder(ids), pageable, total);
+    }
+
+    private Page<CargoEntryDto> searchLike(List<String> terms, String hsPattern, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            where.append(" AND (LOWER(c.description) LIKE :t").append(i).append(" ESCAPE '\\'")
+                    .append(" OR LOWER(c.remarks) LIKE :t").append(i).append(" ESCAPE '\\')");
+            params.put("t" + i, "%" + escapeLike(terms.get(i)) + "%");
+        }
+        if (hsPattern != null) {
+            where.append(" AND c.hsCode LIKE :hs ESCAPE '\\'");
+            params.put("hs", hsPattern);
+        }
+
+        TypedQuery<Long> countQuery = entityManager.createQuery("SELECT COUNT(c) FROM CargoEntry c" + where, Long.class);
+        params.forEach(countQuery::setParameter);
+        long total = countQuery.getSingleResult();
+        if (total == 0) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        // Rough ranking: entries whose description holds every term come before remarks-only matches
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        if (!terms.isEmpty()) {
+            orderBy.append("CASE WHEN ");
+            for (int i = 0; i < terms.size(); i++) {
+                orderBy.append(i > 0 ? " AND " : "").append("LOWER(c.description) LIKE :t").append(i).append(" ESCAPE '\\'");
+            }
+            orderBy.append(" THEN 0 ELSE 1 END, ");
+        }
+        orderBy.append("c.createdAt DESC, c.id DESC");
+
+        TypedQuery<CargoEntryDto> pageQuery = entityManager.createQuery(
+                CargoEntryRepository.LIST_VIEW_SELECT + where + orderBy, CargoEntryDto.class);
+        params.forEach(pageQuery::setParameter);
+        pageQuery.setFirstResult((int) pageable.getOffset());
+        pageQuery.setMaxResults(pageable.getPageSize());
+        return new PageImpl<>(pageQuery.getResultList(), pageable, total);
+    }
+
+    private List<CargoEntryDto> inRankOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, CargoEntryDto> byId = new LinkedHashMap<>();
+        for (Long id : ids) {
+            byId.put(id, null);
+        }
+        for (CargoEntryDto dto : cargoEntryRepository.findListViewByIdIn(ids)) {
+            byId.put(dto.getId(), dto);
+        }
+        // Rows deleted between the id and hydration queries are skipped
+        List<CargoEntryDto> hits = new ArrayList<>(ids.size());
+        for (CargoEntryDto dto : byId.values()) {
+            if (dto != null) {
+                hits.add(dto);
+            }
+        }
+        return hits;
+    }
+
+    private static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String term : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,5 +1,6 @@
 package com.customs.management.service;
 
+import com.customs.management.dto.CursorPage;
 import com.customs.management.dto.CargoEntryDto;
 import com.customs.management.dto.CreateCargoEntryRequest;
 import com.customs.management.dto.UpdateCargoEntryRequest;
@@ -8,15 +9,27 @@ import com.customs.management.entity.CargoStatus;
 import com.customs.management.entity.User;
 import com.customs.management.repository.CargoEntryRepository;
 import com.customs.management.repository.UserRepository;
+import com.customs.management.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -28,21 +41,85 @@ public class CargoService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StatusCountCache statusCountCache;
+
+    @Autowired
+    private CargoRollupRecorder cargoRollupRecorder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${app.cargo.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    @Transactional(readOnly = true)
     public Page<CargoEntryDto> getAllCargo(Pageable pageable) {
-        return cargoEntryRepository.findAll(pageable)
-                .map(this::convertToDto);
+        return cargoEntryRepository.findAllListView(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<CargoEntryDto> getCargoByStatus(CargoStatus status, Pageable pageable) {
-        return cargoEntryRepository.findByStatus(status, pageable)
-                .map(this::convertToDto);
+        return cargoEntryRepository.findListViewByStatus(status, pageable);
+    }
+
+    // Infinite-scroll listing: no COUNT query, only whether another page follows
+    @Transactional(readOnly = true)
+    public Slice<CargoEntryDto> getCargoSlice(CargoStatus status, Pageable pageable) {
+        return status == null
+                ? cargoEntryRepository.findListViewSlice(pageable)
+                : cargoEntryRepository.findListViewSliceByStatus(status, pageable);
+    }
+
+    // Paged listing whose total comes from the periodically refreshed status counts
+    @Transactional(readOnly = true)
+    public Page<CargoEntryDto> getCargoWithCachedTotal(CargoStatus status, Pageable pageable) {
+        Slice<CargoEntryDto> slice = getCargoSlice(status, pageable);
+        return new PageImpl<>(slice.getContent(), pageable, statusCountCache.getCargoCount(status));
+    }
+
+    public Map<CargoStatus, Long> getCargoStatusCounts() {
+        return statusCountCache.getCargoCounts();
     }
 
+    // Seek pagination: no OFFSET scan and no COUNT query, one extra row tells whether more follow
+    @Transactional(readOnly = true)
+    public CursorPage<CargoEntryDto> scrollCargo(CargoStatus status, String after, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<CargoEntryDto> rows;
+        if (after == null) {
+            rows = status == null
+                    ? cargoEntryRepository.findListViewFirst(limit)
+                    : cargoEntryRepository.findListViewByStatusFirst(status, limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = status == null
+                    ? cargoEntryRepository.findListViewAfter(cursor.getCreatedAt(), cursor.getId(), limit)
+                    : cargoEntryRepository.findListViewByStatusAfter(status, cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<CargoEntryDto> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CargoEntryDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, nextCursor, hasNext, size);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<CargoEntryDto> getCargoById(Long id) {
         return cargoEntryRepository.findById(id)
                 .map(this::convertToDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<CargoEntryDto> getCargoByCargoId(String cargoId) {
         return cargoEntryRepository.findByCargoId(cargoId)
                 .map(this::convertToDto);
@@ -54,26 +131,61 @@ public class CargoService {
             throw new IllegalArgumentException("Cargo ID already exists: " + request.getCargoId());
         }
 
-        CargoEntry cargo = new CargoEntry();
-        cargo.setCargoId(request.getCargoId());
-        cargo.setDescription(request.getDescription());
-        cargo.setOrigin(request.getOrigin());
-        cargo.setDestination(request.getDestination());
-        cargo.setDeclaredValue(request.getDeclaredValue());
-        cargo.setWeight(request.getWeight());
-        cargo.setVolume(request.getVolume());
-        cargo.setHsCode(request.getHsCode());
-        cargo.setArrivalDate(request.getArrivalDate());
-        cargo.setRemarks(request.getRemarks());
-        cargo.setStatus(CargoStatus.PENDING_INSPECTION);
-
-        CargoEntry savedCargo = cargoEntryRepository.save(cargo);
+        CargoEntry savedCargo = cargoEntryRepository.save(toEntity(request));
+        statusCountCache.cargoCreated(savedCargo.getStatus(), 1);
+        cargoRollupRecorder.recordCreated(List.of(savedCargo));
         return convertToDto(savedCargo);
     }
 
+    // Registers a whole manifest in one transaction; inserts go out as JDBC batches
+    public List<CargoEntryDto> createCargoBatch(List<CreateCargoEntryRequest> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one cargo entry");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxBatchSize + " cargo entries");
+        }
+
+        Set<String> cargoIds = new LinkedHashSet<>();
+        Set<String> duplicates = new LinkedHashSet<>();
+        for (CreateCargoEntryRequest request : requests) {
+            if (!cargoIds.add(request.getCargoId())) {
+                duplicates.add(request.getCargoId());
+            }
+        }
+        List<String> idList = new ArrayList<>(cargoIds);
+        for (int from = 0; from < idList.size(); from += ID_LOOKUP_CHUNK) {
+            List<String> chunk = idList.subList(from, Math.min(from + ID_LOOKUP_CHUNK, idList.size()));
+            duplicates.addAll(cargoEntryRepository.findExistingCargoIds(chunk));
+        }
+        if (!duplicates.isEmpty()) {
+            throw new IllegalArgumentException("Cargo IDs already exist: " + String.join(", ", duplicates));
+        }
+
+        List<CargoEntryDto> created = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += jdbcBatchSize) {
+            List<CargoEntry> entities = new ArrayList<>();
+            for (CreateCargoEntryRequest request : requests.subList(from, Math.min(from + jdbcBatchSize, requests.size()))) {
+                entities.add(toEntity(request));
+            }
+            cargoEntryRepository.saveAll(entities);
+            cargoRollupRecorder.recordCreated(entities);
+            // Flush each batch and detach it so the persistence context stays small; flushing through the
+            // repository translates a unique-key race into DataIntegrityViolationException
+            cargoEntryRepository.flush();
+            entityManager.clear();
+            for (CargoEntry entity : entities) {
+                created.add(convertToDto(entity));
+            }
+        }
+        statusCountCache.cargoCreated(CargoStatus.PENDING_INSPECTION, created.size());
+        return created;
+    }
+
     public Optional<CargoEntryDto> updateCargo(Long id, UpdateCargoEntryRequest request) {
         return cargoEntryRepository.findById(id)
                 .map(cargo -> {
+                    CargoRollupRecorder.Snapshot before = CargoRollupRecorder.snapshot(cargo);
                     if (request.getDescription() != null) {
                         cargo.setDescription(request.getDescription());
                     }
@@ -96,6 +208,7 @@ public class CargoService {
                         cargo.setHsCode(request.getHsCode());
                     }
                     if (request.getStatus() != null) {
+                        statusCountCache.cargoStatusChanged(cargo.getStatus(), request.getStatus());
                         cargo.setStatus(request.getStatus());
                     }
                     if (request.getArrivalDate() != null) {
@@ -118,6 +231,7 @@ public class CargoService {
                     }
 
                     CargoEntry updatedCargo = cargoEntryRepository.save(cargo);
+                    cargoRollupRecorder.recordChanged(before, updatedCargo);
                     return convertToDto(updatedCargo);
                 });
     }
@@ -129,12 +243,15 @@ public class CargoService {
         if (cargoOpt.isPresent() && inspectorOpt.isPresent()) {
             CargoEntry cargo = cargoOpt.get();
             User inspector = inspectorOpt.get();
+            CargoRollupRecorder.Snapshot before = CargoRollupRecorder.snapshot(cargo);
             
             cargo.setInspector(inspector);
+            statusCountCache.cargoStatusChanged(cargo.getStatus(), CargoStatus.UNDER_INSPECTION);
             cargo.setStatus(CargoStatus.UNDER_INSPECTION);
             cargo.setInspectionDate(LocalDateTime.now());
             
             CargoEntry updatedCargo = cargoEntryRepository.save(cargo);
+            cargoRollupRecorder.recordChanged(before, updatedCargo);
             return Optional.of(convertToDto(updatedCargo));
         }
         
@@ -144,8 +261,10 @@ public class CargoService {
     public Optional<CargoEntryDto> calculateDuty(Long cargoId, BigDecimal dutyAmount) {
         return cargoEntryRepository.findById(cargoId)
                 .map(cargo -> {
+                    CargoRollupRecorder.Snapshot before = CargoRollupRecorder.snapshot(cargo);
                     cargo.setDutyCalculated(dutyAmount);
                     CargoEntry updatedCargo = cargoEntryRepository.save(cargo);
+                    cargoRollupRecorder.recordChanged(before, updatedCargo);
                     return convertToDto(updatedCargo);
                 });
     }
@@ -153,26 +272,48 @@ public class CargoService {
     public Optional<CargoEntryDto> recordDutyPayment(Long cargoId, BigDecimal paidAmount) {
         return cargoEntryRepository.findById(cargoId)
                 .map(cargo -> {
+                    CargoRollupRecorder.Snapshot before = CargoRollupRecorder.snapshot(cargo);
                     cargo.setDutyPaid(paidAmount);
                     
                     // If full duty is paid, update status
                     if (cargo.getDutyCalculated() != null && 
                         paidAmount.compareTo(cargo.getDutyCalculated()) >= 0) {
+                        statusCountCache.cargoStatusChanged(cargo.getStatus(), CargoStatus.CLEARED);
                         cargo.setStatus(CargoStatus.CLEARED);
                         cargo.setClearanceDate(LocalDateTime.now());
                     }
                     
                     CargoEntry updatedCargo = cargoEntryRepository.save(cargo);
+                    cargoRollupRecorder.recordChanged(before, updatedCargo);
                     return convertToDto(updatedCargo);
                 });
     }
 
     public boolean deleteCargo(Long id) {
-        if (cargoEntryRepository.existsById(id)) {
-            cargoEntryRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return cargoEntryRepository.findById(id)
+                .map(cargo -> {
+                    cargoEntryRepository.delete(cargo);
+                    statusCountCache.cargoStatusChanged(cargo.getStatus(), null);
+                    cargoRollupRecorder.recordDeleted(cargo);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private CargoEntry toEntity(CreateCargoEntryRequest request) {
+        CargoEntry cargo = new CargoEntry();
+        cargo.setCargoId(request.getCargoId());
+        cargo.setDescription(request.getDescription());
+        cargo.setOrigin(request.getOrigin());
+        cargo.setDestination(request.getDestination());
+        cargo.setDeclaredValue(request.getDeclaredValue());
+        cargo.setWeight(request.getWeight());
+        cargo.setVolume(request.getVolume());
+        cargo.setHsCode(request.getHsCode());
+        cargo.setArrivalDate(request.getArrivalDate());
+        cargo.setRemarks(request.getRemarks());
+        cargo.setStatus(CargoStatus.PENDING_INSPECTION);
+        return cargo;
     }
 
     private CargoEntryDto convertToDto(CargoEntry cargo) {
@@ -0,0 +1,38 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.DashboardStatsDto;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Service
+public class DashboardService {
+
+    private static final Set<AuthorityName> CARGO_READERS =
+            EnumSet.of(AuthorityName.READ_CARGO, AuthorityName.INSPECT_CARGO);
+
+    private static final Set<AuthorityName> VEHICLE_READERS =
+            EnumSet.of(AuthorityName.READ_VEHICLE, AuthorityName.INSPECT_VEHICLE);
+
+    @Autowired
+    private StatusCountCache statusCountCache;
+
+    // Served from in-memory counters; each section only for users allowed to read that data
+    public DashboardStatsDto getStats(UserPrincipal user) {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        if (user.hasAnyAuthority(CARGO_READERS)) {
+            stats.setCargoByStatus(statusCountCache.getCargoCounts());
+            stats.setCargoTotal(statusCountCache.getCargoCount(null));
+        }
+        if (user.hasAnyAuthority(VEHICLE_READERS)) {
+            stats.setVehiclesByStatus(statusCountCache.getVehicleCounts());
+            stats.setVehicleTotal(statusCountCache.getVehicleCount(null));
+        }
+        stats.setReconciledAt(statusCountCache.getReconciledAt());
+        return stats;
+    }
+}
@@ -0,0 +1,235 @@
+package com.customs.management.service;
+
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.VehicleStatus;
+import com.customs.management.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams cargo and vehicle rows straight from a forward-only JDBC cursor into the
+ * response as CSV or NDJSON. Rows are written as they are fetched, so memory use does
+ * not depend on how many rows are exported.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Column labels match the import headers so an export can be re-imported as a manifest
+    private static final String[] CARGO_COLUMNS = {
+            "id", "cargoId", "description", "origin", "destination", "declaredValue", "weight", "volume",
+            "hsCode", "status", "arrivalDate", "inspectionDate", "clearanceDate", "createdAt", "updatedAt",
+            "inspectorName", "dutyCalculated", "dutyPaid", "remarks"
+    };
+
+    private static final String CARGO_SELECT =
+            "SELECT c.id, c.cargo_id, c.description, c.origin, c.destination, c.declared_value, c.weight, c.volume, "
+            + "c.hs_code, c.status, c.arrival_date, c.inspection_date, c.clearance_date, c.created_at, c.updated_at, "
+            + "CASE WHEN i.id IS NULL THEN NULL ELSE i.first_name || ' ' || i.last_name END, "
+            + "c.duty_calculated, c.duty_paid, c.remarks "
+            + "FROM cargo_entries c LEFT JOIN users i ON i.id = c.inspector_id";
+
+    // Same order as the keyset listing, served by the (status,) created_at, id indexes
+    private static final String CARGO_ORDER = " ORDER BY c.created_at DESC, c.id DESC";
+
+    private static final String[] VEHICLE_COLUMNS = {
+            "id", "vehicleId", "make", "model", "year", "engineNumber", "chassisNumber", "origin", "declaredValue",
+            "engineCapacity", "fuelType", "color", "status", "submissionDate", "inspectionDate", "approvalDate",
+            "createdAt", "updatedAt", "inspectorName", "dutyCalculated", "dutyPaid", "registrationNumber", "remarks"
+    };
+
+    private static final String VEHICLE_SELECT =
+            "SELECT v.id, v.vehicle_id, v.make, v.model, v.vehicle_year, v.engine_number, v.chassis_number, v.origin, "
+            + "v.declared_value, v.engine_capacity, v.fuel_type, v.color, v.status, v.submission_date, v.inspection_date, "
+            + "v.approval_date, v.created_at, v.updated_at, "
+            + "CASE WHEN i.id IS NULL THEN NULL ELSE i.first_name || ' ' || i.last_name END, "
+            + "v.duty_calculated, v.duty_paid, v.registration_number, v.remarks "
+            + "FROM vehicle_imports v LEFT JOIN users i ON i.id = v.inspector_id";
+
+    private static final String VEHICLE_ORDER = " ORDER BY v.created_at DESC, v.id DESC";
+
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(PlatformTransactionManager transactionManager) {
+        // Read-only keeps PostgreSQL cursors open (autocommit off) and routes to the replica when configured
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportCargo(CargoStatus status, ManifestFormat format, OutputStream out) throws IOException {
+        String sql = CARGO_SELECT + (status != null ? " WHERE c.status = ?" : "") + CARGO_ORDER;
+        export("cargo", sql, status != null ? List.of(status.name()) : List.of(), CARGO_COLUMNS, format, out);
+    }
+
+    public void exportVehicles(VehicleStatus status, ManifestFormat format, OutputStream out) throws IOException {
+        String sql = VEHICLE_SELECT + (status != null ? " WHERE v.status = ?" : "") + VEHICLE_ORDER;
+        export("vehicle", sql, status != null ? List.of(status.name()) : List.of(), VEHICLE_COLUMNS, format, out);
+    }
+
+    // Cargo arriving in [from, to), ordered by arrival date; served by the (status,) arrival_date indexes
+    public long exportCargoArrivals(LocalDateTime from, LocalDateTime to, CargoStatus status, ManifestFormat format,
+                                    OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String sql = CARGO_SELECT + " WHERE c.arrival_date >= ? AND c.arrival_date < ?";
+        if (status != null) {
+            sql += " AND c.status = ?";
+            params.add(status.name());
+        }
+        return export("cargo arrival", sql + " ORDER BY c.arrival_date, c.id", params, CARGO_COLUMNS, format, out);
+    }
+
+    public long exportVehicleSubmissions(LocalDateTime from, LocalDateTime to, VehicleStatus status,
+                                         ManifestFormat format, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String sql = VEHICLE_SELECT + " WHERE v.submission_date >= ? AND v.submission_date < ?";
+        if (status != null) {
+            sql += " AND v.status = ?";
+            params.add(status.name());
+        }
+        return export("vehicle submission", sql + " ORDER BY v.submission_date, v.id", params, VEHICLE_COLUMNS, format, out);
+    }
+
+    private long export(String name, String sql, List<Object> params, String[] columns, ManifestFormat format,
+                        OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ManifestFormat.NDJSON
+                ? new NdjsonRowWriter(objectMapper, writer, columns)
+                : new CsvRowWriter(writer, columns);
+
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                try {
+                    rowWriter.write(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading and release the cursor
+            throw e.getCause();
+        }
+        rowWriter.finish();
+
+        logger.info("Exported {} {} rows as {} in {} ms", rows[0], name, format, System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer, String[] columns) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = normalize(values[i]);
+                String text = value instanceof BigDecimal decimal ? decimal.toPlainString()
+                        : value != null ? value.toString() : null;
+                writer.write(CsvUtils.escape(text));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        private NdjsonRowWriter(ObjectMapper objectMapper, Writer writer, String[] columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeObjectField(columns[i], normalize(values[i]));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
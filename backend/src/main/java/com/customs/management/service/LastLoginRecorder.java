@@ -0,0 +1,69 @@
+package com.customs.management.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects last-login timestamps off the sign-in path and writes them in a single JDBC batch.
+ * Repeated logins by the same user between flushes collapse into one update.
+ */
+@Service
+public class LastLoginRecorder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+    
+    private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login = ? WHERE username = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    
+    public void record(String username, LocalDateTime loginTime) {
+        pending.merge(username, loginTime, (existing, latest) -> latest.isAfter(existing) ? latest : existing);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        // Entries stay queued until the batch succeeds; a failed flush is retried on the next run
+        List<Map.Entry<String, LocalDateTime>> snapshot = new ArrayList<>(pending.size());
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            snapshot.add(Map.entry(entry.getKey(), entry.getValue()));
+            batch.add(new Object[] { Timestamp.valueOf(entry.getValue()), entry.getKey() });
+        }
+        
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch);
+        } catch (Exception e) {
+            logger.error("Failed to flush {} last-login updates, will retry: {}", batch.size(), e.getMessage());
+            return;
+        }
+        
+        // Only drop entries that were written; a newer login recorded meanwhile stays queued
+        for (Map.Entry<String, LocalDateTime> entry : snapshot) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,21 @@
+package com.customs.management.service;
+
+import java.util.Locale;
+
+public enum ManifestFormat {
+    CSV,
+    NDJSON;
+
+    // Explicit format wins; otherwise .ndjson/.jsonl uploads are NDJSON and anything else CSV
+    public static ManifestFormat resolve(String format, String filename) {
+        if (format != null) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+        }
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
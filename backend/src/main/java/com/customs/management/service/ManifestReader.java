@@ -0,0 +1,142 @@
+package com.customs.management.service;
+
+import com.customs.management.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads a CSV (header row first) or NDJSON upload one record at a time and binds each
+ * record to a request object. A CSV record spans several lines when a quoted field holds
+ * line breaks; nothing beyond the current record is held in memory.
+ */
+class ManifestReader<T> {
+
+    // Bounds how much an unterminated quote can make the reader buffer
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+
+    interface Handler<T> {
+        void onRecord(long line, T record);
+
+        void onMalformed(long line, String message);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final Function<CsvRecord, T> csvBinder;
+
+    ManifestReader(ObjectMapper objectMapper, Class<T> type, Function<CsvRecord, T> csvBinder) {
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.csvBinder = csvBinder;
+    }
+
+    void read(InputStream input, ManifestFormat format, Handler<T> handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            long recordLine = lineNumber;
+            if (format == ManifestFormat.CSV && CsvUtils.hasOpenQuote(line)) {
+                // A quoted field continues onto the next line; an odd quote count there closes it
+                StringBuilder buffer = new StringBuilder(line);
+                boolean open = true;
+                String next;
+                while (open && buffer.length() <= MAX_RECORD_CHARS && (next = reader.readLine()) != null) {
+                    lineNumber++;
+                    buffer.append('\n').append(next);
+                    open = !CsvUtils.hasOpenQuote(next);
+                }
+                if (open) {
+                    handler.onMalformed(recordLine, "Malformed row: Unterminated quoted field");
+                    continue;
+                }
+                line = buffer.toString();
+            }
+            if (format == ManifestFormat.CSV && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+
+            T record;
+            try {
+                record = format == ManifestFormat.CSV
+                        ? csvBinder.apply(new CsvRecord(header, CsvUtils.parseLine(line)))
+                        : objectMapper.readValue(line, type);
+            } catch (JsonProcessingException e) {
+                handler.onMalformed(recordLine, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                handler.onMalformed(recordLine, "Malformed row: " + e.getMessage());
+                continue;
+            }
+            handler.onRecord(recordLine, record);
+        }
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> columns = CsvUtils.parseLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(normalize(columns.get(i)), i);
+        }
+        return header;
+    }
+
+    // cargoId, cargo_id and CARGOID all name the same column
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    static final class CsvRecord {
+        private final Map<String, Integer> header;
+        private final List<String> fields;
+
+        private CsvRecord(Map<String, Integer> header, List<String> fields) {
+            this.header = header;
+            this.fields = fields;
+        }
+
+        String get(String column) {
+            Integer index = header.get(normalize(column));
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = CsvUtils.unguard(fields.get(index)).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        BigDecimal getDecimal(String column) {
+            String value = get(column);
+            return value != null ? new BigDecimal(value) : null;
+        }
+
+        Integer getInteger(String column) {
+            String value = get(column);
+            return value != null ? Integer.valueOf(value) : null;
+        }
+
+        LocalDateTime getDateTime(String column) {
+            String value = get(column);
+            return value != null ? LocalDateTime.parse(value) : null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.customs.management.service;
+
+import com.customs.management.repository.PasswordResetTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Purges expired password reset tokens with bulk deletes in bounded chunks, each in its own
+ * transaction, so a large backlog never holds long locks or loads every row into memory.
+ */
+@Service
+public class PasswordResetTokenCleanupJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenCleanupJob.class);
+    
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    
+    @Value("${app.password-reset.cleanup-chunk-size:1000}")
+    private int chunkSize;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public PasswordResetTokenCleanupJob(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @Scheduled(cron = "${app.password-reset.cleanup-cron:0 0 * * * *}")
+    public void scheduledCleanup() {
+        purgeExpiredTokens();
+    }
+    
+    public int purgeExpiredTokens() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = passwordResetTokenRepository.findExpiredIds(now, PageRequest.of(0, chunkSize));
+                return ids.isEmpty() ? 0 : passwordResetTokenRepository.deleteByIdIn(ids);
+            });
+            removed += deleted;
+        } while (deleted == chunkSize);
+        
+        logger.info("Purged {} expired password reset tokens in {} ms", removed, System.currentTimeMillis() - start);
+        return removed;
+    }
+}
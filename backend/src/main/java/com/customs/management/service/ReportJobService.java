@@ -0,0 +1,323 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.ReportJobDto;
+import com.customs.management.dto.ReportJobRequest;
+import com.customs.management.entity.AuthorityName;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.VehicleStatus;
+import com.customs.management.security.UserPrincipal;
+import com.customs.management.util.BoundedExecutors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs large date-range reports in the background. Each job streams its rows from a
+ * read-only cursor (via {@link ExportService}) into a gzip file on local disk, which is
+ * kept for a retention period. Submitting the same parameters again while a job is queued or
+ * running returns that job instead of running the query a second time, and so does a completed
+ * job whose date range had already ended when it ran. Jobs are shared across users that way,
+ * so every access checks the caller against the report type.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${app.reports.jobs.directory:${java.io.tmpdir}/customs-reports}")
+    private String directory;
+
+    @Value("${app.reports.jobs.workers:2}")
+    private int workers;
+
+    @Value("${app.reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.result-retention-minutes:60}")
+    private long resultRetentionMinutes;
+
+    @Value("${app.reports.jobs.max-range-days:366}")
+    private long maxRangeDays;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    // Parameter key -> job, for deduplication and result caching
+    private final Map<String, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    private Path outputDirectory;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        outputDirectory = Files.createDirectories(Paths.get(directory));
+        executor = BoundedExecutors.newFixedDaemonPool("report-job", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public synchronized ReportJobDto submit(ReportJobRequest request, UserPrincipal user) {
+        ReportParameters parameters = ReportParameters.of(request, maxRangeDays);
+        if (!canRead(user, parameters.type)) {
+            throw new AccessDeniedException("Not allowed to run " + parameters.type + " reports");
+        }
+        ReportJob existing = jobsByKey.get(parameters.key());
+        if (existing != null && existing.isReusable()) {
+            return existing.snapshot(true);
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), parameters, user.getUsername());
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many reports in progress, try again later");
+        }
+        jobs.put(job.id, job);
+        jobsByKey.put(parameters.key(), job);
+        return job.snapshot(false);
+    }
+
+    // Jobs of a type the caller may not read are reported as missing
+    public Optional<ReportJobDto> getJob(String jobId, UserPrincipal user) {
+        return visibleJob(jobId, user).map(job -> job.snapshot(false));
+    }
+
+    // The finished result file, if the job exists, completed and is readable by the caller
+    public Optional<Path> getResultFile(String jobId, UserPrincipal user) {
+        return visibleJob(jobId, user)
+                .map(ReportJob::resultFile)
+                .filter(Files::exists);
+    }
+
+    private Optional<ReportJob> visibleJob(String jobId, UserPrincipal user) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> canRead(user, job.parameters.type));
+    }
+
+    private static boolean canRead(UserPrincipal user, ReportType type) {
+        for (AuthorityName authority : type.requiredAuthorities()) {
+            if (!user.hasAuthority(authority)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval-ms:300000}",
+               initialDelayString = "${app.reports.jobs.cleanup-interval-ms:300000}")
+    public synchronized void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+        for (ReportJob job : jobs.values()) {
+            if (job.isExpired(now)) {
+                jobs.remove(job.id);
+                jobsByKey.remove(job.parameters.key(), job);
+                deleteQuietly(job.resultFile());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} expired report jobs", evicted);
+        }
+    }
+
+    private void run(ReportJob job) {
+        job.start();
+        ReportParameters parameters = job.parameters;
+        Path partial = outputDirectory.resolve(job.id + ".part");
+        Path result = outputDirectory.resolve(job.id + "." + parameters.format.name().toLowerCase(Locale.ROOT) + ".gz");
+        try {
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                LocalDateTime from = parameters.from.atStartOfDay();
+                LocalDateTime to = parameters.to.plusDays(1).atStartOfDay();
+                if (parameters.type == ReportType.CARGO_ARRIVALS) {
+                    CargoStatus status = parameters.status != null ? CargoStatus.valueOf(parameters.status) : null;
+                    rows = exportService.exportCargoArrivals(from, to, status, parameters.format, out);
+                } else {
+                    VehicleStatus status = parameters.status != null ? VehicleStatus.valueOf(parameters.status) : null;
+                    rows = exportService.exportVehicleSubmissions(from, to, status, parameters.format, out);
+                }
+            }
+            Files.move(partial, result, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(result, rows, Files.size(result),
+                    LocalDateTime.now().plusMinutes(resultRetentionMinutes));
+            logger.info("Report job {} completed: {} rows, {} bytes", job.id, rows, Files.size(result));
+        } catch (Exception e) {
+            logger.error("Report job {} failed: {}", job.id, e.getMessage());
+            deleteQuietly(partial);
+            // Failed jobs are kept for status polling but never served from the cache
+            job.fail(e.getMessage(), LocalDateTime.now().plusMinutes(resultRetentionMinutes));
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class ReportParameters {
+        private final ReportType type;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String status;
+        private final ManifestFormat format;
+
+        private ReportParameters(ReportType type, LocalDate from, LocalDate to, String status, ManifestFormat format) {
+            this.type = type;
+            this.from = from;
+            this.to = to;
+            this.status = status;
+            this.format = format;
+        }
+
+        // Validates and normalizes the request so equivalent submissions share one key
+        static ReportParameters of(ReportJobRequest request, long maxRangeDays) {
+            if (request.getType() == null) {
+                throw new IllegalArgumentException("Report type is required");
+            }
+            if (request.getFrom() == null || request.getTo() == null) {
+                throw new IllegalArgumentException("Both from and to dates are required");
+            }
+            if (request.getFrom().isAfter(request.getTo())) {
+                throw new IllegalArgumentException("from must not be after to");
+            }
+            if (ChronoUnit.DAYS.between(request.getFrom(), request.getTo()) >= maxRangeDays) {
+                throw new IllegalArgumentException("Date range must not exceed " + maxRangeDays + " days");
+            }
+            String status = null;
+            if (request.getStatus() != null && !request.getStatus().isBlank()) {
+                String name = request.getStatus().trim().toUpperCase(Locale.ROOT);
+                try {
+                    status = request.getType() == ReportType.CARGO_ARRIVALS
+                            ? CargoStatus.valueOf(name).name()
+                            : VehicleStatus.valueOf(name).name();
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported status for " + request.getType() + ": " + request.getStatus());
+                }
+            }
+            ManifestFormat format = ManifestFormat.resolve(request.getFormat(), null);
+            return new ReportParameters(request.getType(), request.getFrom(), request.getTo(), status, format);
+        }
+
+        String key() {
+            return type + "|" + from + "|" + to + "|" + (status != null ? status : "") + "|" + format;
+        }
+    }
+
+    private static final class ReportJob {
+        private final String id;
+        private final ReportParameters parameters;
+        private final String submittedBy;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private LocalDateTime expiresAt;
+        private String status = "QUEUED";
+        private String message;
+        private Path resultFile;
+        private long rowCount;
+        private long sizeBytes;
+
+        private ReportJob(String id, ReportParameters parameters, String submittedBy) {
+            this.id = id;
+            this.parameters = parameters;
+            this.submittedBy = submittedBy;
+        }
+
+        synchronized void start() {
+            status = "RUNNING";
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void complete(Path file, long rows, long size, LocalDateTime expiry) {
+            status = "COMPLETED";
+            resultFile = file;
+            rowCount = rows;
+            sizeBytes = size;
+            finishedAt = LocalDateTime.now();
+            expiresAt = expiry;
+        }
+
+        synchronized void fail(String failure, LocalDateTime expiry) {
+            status = "FAILED";
+            message = failure;
+            finishedAt = LocalDateTime.now();
+            expiresAt = expiry;
+        }
+
+        synchronized Path resultFile() {
+            return resultFile;
+        }
+
+        // A range that reaches into the day the job ran may have gained rows since, so its result is not reused
+        synchronized boolean isReusable() {
+            if ("FAILED".equals(status) || isExpired(LocalDateTime.now())) {
+                return false;
+            }
+            return !"COMPLETED".equals(status) || parameters.to.isBefore(startedAt.toLocalDate());
+        }
+
+        synchronized boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && expiresAt.isBefore(now);
+        }
+
+        // cached is only reported when a reused job already has its result; a reused queued or running job is not
+        synchronized ReportJobDto snapshot(boolean reused) {
+            ReportJobDto dto = new ReportJobDto();
+            dto.setJobId(id);
+            dto.setType(parameters.type.name());
+            dto.setStatus(status);
+            dto.setFrom(parameters.from);
+            dto.setTo(parameters.to);
+            dto.setRecordStatus(parameters.status);
+            dto.setFormat(parameters.format.name());
+            dto.setRowCount(rowCount);
+            dto.setSizeBytes(sizeBytes);
+            dto.setCached(reused && "COMPLETED".equals(status));
+            dto.setSubmittedBy(submittedBy);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setExpiresAt(expiresAt);
+            dto.setMessage(message);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.customs.management.service;
+
+import com.customs.management.entity.AuthorityName;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum ReportType {
+    // Cargo by arrival date
+    CARGO_ARRIVALS(AuthorityName.READ_CARGO),
+    // Vehicle declarations by submission date
+    VEHICLE_SUBMISSIONS(AuthorityName.READ_VEHICLE);
+
+    private final AuthorityName readAuthority;
+
+    ReportType(AuthorityName readAuthority) {
+        this.readAuthority = readAuthority;
+    }
+
+    // Reports carry the same full rows as the exports, so they need the same authorities
+    public Set<AuthorityName> requiredAuthorities() {
+        return EnumSet.of(readAuthority, AuthorityName.EXPORT_DATA);
+    }
+}
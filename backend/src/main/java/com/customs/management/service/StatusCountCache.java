@@ -0,0 +1,222 @@
+package com.customs.management.service;
+
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.VehicleStatus;
+import com.customs.management.repository.CargoEntryRepository;
+import com.customs.management.repository.VehicleImportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-status row counts for cargo and vehicles. Seeded from one GROUP BY per table,
+ * then kept current by the services on every create, status transition and delete
+ * (applied after commit), and reconciled against the database periodically to
+ * correct any drift. Reconciliation runs its query without blocking writers; deltas
+ * committed while the query runs are recorded and reapplied on top of the result
+ * when the new values are swapped in.
+ */
+@Service
+public class StatusCountCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatusCountCache.class);
+    
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+    
+    @Autowired
+    private VehicleImportRepository vehicleImportRepository;
+    
+    private final Map<CargoStatus, AtomicLong> cargoCounts = counters(CargoStatus.class);
+    
+    private final Map<VehicleStatus, AtomicLong> vehicleCounts = counters(VehicleStatus.class);
+    
+    // Applying a delta takes the read lock; reconcile takes the write lock only to start
+    // recording deltas and to swap in the queried counts
+    private final ReadWriteLock deltaLock = new ReentrantReadWriteLock();
+    
+    // Deltas applied to replayCounts since its reconcile query started; guarded by deltaLock
+    private Map<?, AtomicLong> replayCounts;
+    
+    private Queue<Runnable> replay;
+    
+    private volatile LocalDateTime reconciledAt;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.status-counts.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.status-counts.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long cargoDrift = reconcile(cargoCounts, cargoEntryRepository::countGroupedByStatus, CargoStatus.class);
+        long vehicleDrift = reconcile(vehicleCounts, vehicleImportRepository::countGroupedByStatus, VehicleStatus.class);
+        reconciledAt = LocalDateTime.now();
+        if (cargoDrift != 0 || vehicleDrift != 0) {
+            logger.info("Reconciled status counts: cargo drift {}, vehicle drift {}", cargoDrift, vehicleDrift);
+        }
+    }
+    
+    // from == null means created, to == null means deleted
+    public void cargoStatusChanged(CargoStatus from, CargoStatus to) {
+        if (from != to) {
+            afterCommit(cargoCounts, from, to, 1);
+        }
+    }
+    
+    public void cargoCreated(CargoStatus status, int count) {
+        afterCommit(cargoCounts, null, status, count);
+    }
+    
+    public void vehicleStatusChanged(VehicleStatus from, VehicleStatus to) {
+        if (from != to) {
+            afterCommit(vehicleCounts, from, to, 1);
+        }
+    }
+    
+    public void vehiclesCreated(VehicleStatus status, int count) {
+        afterCommit(vehicleCounts, null, status, count);
+    }
+    
+    // Count for one status, or across all statuses when status is null
+    public long getCargoCount(CargoStatus status) {
+        return status != null ? cargoCounts.get(status).get() : sum(cargoCounts);
+    }
+    
+    public long getVehicleCount(VehicleStatus status) {
+        return status != null ? vehicleCounts.get(status).get() : sum(vehicleCounts);
+    }
+    
+    public Map<CargoStatus, Long> getCargoCounts() {
+        return snapshot(cargoCounts, CargoStatus.class);
+    }
+    
+    public Map<VehicleStatus, Long> getVehicleCounts() {
+        return snapshot(vehicleCounts, VehicleStatus.class);
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    // Counts only change once the transaction that changed the rows has committed
+    private <S extends Enum<S>> void afterCommit(Map<S, AtomicLong> counts, S from, S to, int count) {
+        Runnable delta = () -> move(counts, from, to, count);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(counts, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(counts, delta);
+            }
+        });
+    }
+    
+    private void apply(Map<?, AtomicLong> counts, Runnable delta) {
+        deltaLock.readLock().lock();
+        try {
+            delta.run();
+            if (replayCounts == counts) {
+                replay.add(delta);
+            }
+        } finally {
+            deltaLock.readLock().unlock();
+        }
+    }
+    
+    // A transaction that commits while the query runs may or may not be in its result; such a
+    // delta is reapplied, so it can be counted twice until the next reconcile corrects it
+    private <S extends Enum<S>> long reconcile(Map<S, AtomicLong> counts, Supplier<List<Object[]>> query, Class<S> type) {
+        Queue<Runnable> deltas = new ConcurrentLinkedQueue<>();
+        deltaLock.writeLock().lock();
+        try {
+            replayCounts = counts;
+            replay = deltas;
+        } finally {
+            deltaLock.writeLock().unlock();
+        }
+        
+        Map<S, Long> actual = new EnumMap<>(type);
+        try {
+            for (Object[] row : query.get()) {
+                actual.put(type.cast(row[0]), ((Number) row[1]).longValue());
+            }
+        } catch (RuntimeException e) {
+            stopReplay();
+            throw e;
+        }
+        
+        deltaLock.writeLock().lock();
+        try {
+            stopReplay();
+            Map<S, Long> previous = snapshot(counts, type);
+            counts.forEach((status, count) -> count.set(actual.getOrDefault(status, 0L)));
+            deltas.forEach(Runnable::run);
+            long drift = 0;
+            for (Map.Entry<S, AtomicLong> entry : counts.entrySet()) {
+                drift += Math.abs(previous.get(entry.getKey()) - entry.getValue().get());
+            }
+            return drift;
+        } finally {
+            deltaLock.writeLock().unlock();
+        }
+    }
+    
+    private void stopReplay() {
+        deltaLock.writeLock().lock();
+        try {
+            replayCounts = null;
+            replay = null;
+        } finally {
+            deltaLock.writeLock().unlock();
+        }
+    }
+    
+    private static <S extends Enum<S>> void move(Map<S, AtomicLong> counts, S from, S to, int count) {
+        if (from != null) {
+            counts.get(from).addAndGet(-count);
+        }
+        if (to != null) {
+            counts.get(to).addAndGet(count);
+        }
+    }
+    
+    private static <S extends Enum<S>> Map<S, AtomicLong> counters(Class<S> type) {
+        Map<S, AtomicLong> counts = new EnumMap<>(type);
+        for (S status : type.getEnumConstants()) {
+            counts.put(status, new AtomicLong());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+    
+    private static <S extends Enum<S>> Map<S, Long> snapshot(Map<S, AtomicLong> counts, Class<S> type) {
+        Map<S, Long> copy = new EnumMap<>(type);
+        counts.forEach((status, count) -> copy.put(status, count.get()));
+        return copy;
+    }
+    
+    private static long sum(Map<?, AtomicLong> counts) {
+        long total = 0;
+        for (AtomicLong count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+}
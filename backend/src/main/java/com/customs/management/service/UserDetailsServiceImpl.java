@@ -3,25 +3,52 @@ package com.customs.management.service;
 import com.customs.management.entity.User;
 import com.customs.management.repository.UserRepository;
 import com.customs.management.security.UserPrincipal;
+import com.customs.management.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = userPrincipalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        
         User user = userRepository.findByUsernameWithRolesAndAuthorities(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + username));
         
-        return UserPrincipal.create(user);
+        UserPrincipal principal = UserPrincipal.create(user);
+        userPrincipalCache.put(username, principal);
+        return principal;
+    }
+    
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash needs upgrading
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsernameWithRolesAndAuthorities(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + userDetails.getUsername()));
+        
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        
+        UserPrincipal principal = UserPrincipal.create(user);
+        userPrincipalCache.put(user.getUsername(), principal);
+        return principal;
     }
 }
@@ -0,0 +1,372 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CreateVehicleImportRequest;
+import com.customs.management.dto.ImportJobDto;
+import com.customs.management.dto.ImportResult;
+import com.customs.management.repository.VehicleImportRepository;
+import com.customs.management.util.BoundedExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs bulk vehicle declarations in the background. The upload is spooled to a temp file,
+ * then read line by line; each chunk is checked for duplicate vehicle IDs, chassis numbers
+ * and engine numbers with one IN query per key and inserted in JDBC batches. Progress is
+ * kept per job so clients can poll it.
+ */
+@Service
+public class VehicleDeclarationImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleDeclarationImportService.class);
+
+    // Each chunk is checked with one IN query per key, and PostgreSQL caps a statement at 32767 bind parameters
+    private static final int MAX_CHUNK_SIZE = 32767;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleImportRepository vehicleImportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.vehicle.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.vehicle.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.vehicle.import.workers:2}")
+    private int workers;
+
+    @Value("${app.vehicle.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${app.vehicle.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalStateException("app.vehicle.import.chunk-size must be between 1 and "
+                    + MAX_CHUNK_SIZE + ", was " + chunkSize);
+        }
+        executor = BoundedExecutors.newFixedDaemonPool("vehicle-import", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobDto submit(MultipartFile file, ManifestFormat format, String submittedBy) throws IOException {
+        pruneFinishedJobs();
+
+        // The multipart temp file disappears when the request ends, so keep our own copy
+        Path upload = Files.createTempFile("vehicle-import-", ".upload");
+        file.transferTo(upload);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), submittedBy,
+                Files.size(upload), maxReportedErrors);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, upload, format));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(upload);
+            throw new IllegalStateException("Too many vehicle imports in progress, try again later");
+        }
+        return job.snapshot();
+    }
+
+    public Optional<ImportJobDto> getJob(String jobId, String username) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.submittedBy.equals(username)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.snapshot());
+    }
+
+    private void run(ImportJob job, Path upload, ManifestFormat format) {
+        job.start();
+        List<DeclarationRow> chunk = new ArrayList<>(chunkSize);
+        try (InputStream input = new CountingInputStream(Files.newInputStream(upload), job.bytesRead)) {
+            reader().read(input, format, new ManifestReader.Handler<>() {
+                @Override
+                public void onRecord(long line, CreateVehicleImportRequest request) {
+                    job.recordRow();
+                    Set<ConstraintViolation<CreateVehicleImportRequest>> violations = validator.validate(request);
+                    if (!violations.isEmpty()) {
+                        ConstraintViolation<CreateVehicleImportRequest> first = violations.iterator().next();
+                        job.recordFailure(line, request.getVehicleId(), first.getPropertyPath() + ": " + first.getMessage());
+                        return;
+                    }
+                    chunk.add(new DeclarationRow(line, request));
+                    if (chunk.size() >= chunkSize) {
+                        writeChunk(chunk, job);
+                        chunk.clear();
+                    }
+                }
+
+                @Override
+                public void onMalformed(long line, String message) {
+                    job.recordRow();
+                    job.recordFailure(line, null, message);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, job);
+            }
+            job.finish("COMPLETED", null);
+        } catch (Exception e) {
+            logger.error("Vehicle import {} failed: {}", job.id, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Could not delete vehicle import upload {}: {}", upload, e.getMessage());
+            }
+        }
+        logger.info("Vehicle import {} {}: {} imported, {} failed", job.id, job.status, job.imported(), job.failed());
+    }
+
+    private void writeChunk(List<DeclarationRow> chunk, ImportJob job) {
+        // Repeats inside the chunk first; earlier chunks are committed, so the DB lookups cover the rest
+        Set<String> vehicleIds = new HashSet<>();
+        Set<String> chassisNumbers = new HashSet<>();
+        Set<String> engineNumbers = new HashSet<>();
+        List<DeclarationRow> unique = new ArrayList<>(chunk.size());
+        for (DeclarationRow row : chunk) {
+            CreateVehicleImportRequest request = row.request;
+            if (vehicleIds.contains(request.getVehicleId())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Duplicate vehicle ID in declaration");
+            } else if (request.getChassisNumber() != null && chassisNumbers.contains(request.getChassisNumber())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Duplicate chassis number in declaration");
+            } else if (request.getEngineNumber() != null && engineNumbers.contains(request.getEngineNumber())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Duplicate engine number in declaration");
+            } else {
+                vehicleIds.add(request.getVehicleId());
+                if (request.getChassisNumber() != null) {
+                    chassisNumbers.add(request.getChassisNumber());
+                }
+                if (request.getEngineNumber() != null) {
+                    engineNumbers.add(request.getEngineNumber());
+                }
+                unique.add(row);
+            }
+        }
+
+        Set<String> existingVehicleIds = existing(vehicleIds, vehicleImportRepository::findExistingVehicleIds);
+        Set<String> existingChassis = existing(chassisNumbers, vehicleImportRepository::findExistingChassisNumbers);
+        Set<String> existingEngines = existing(engineNumbers, vehicleImportRepository::findExistingEngineNumbers);
+
+        List<CreateVehicleImportRequest> accepted = new ArrayList<>(unique.size());
+        List<DeclarationRow> acceptedRows = new ArrayList<>(unique.size());
+        for (DeclarationRow row : unique) {
+            CreateVehicleImportRequest request = row.request;
+            if (existingVehicleIds.contains(request.getVehicleId())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Vehicle ID already exists");
+            } else if (existingChassis.contains(request.getChassisNumber())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Chassis number already declared");
+            } else if (existingEngines.contains(request.getEngineNumber())) {
+                job.recordFailure(row.line, request.getVehicleId(), "Engine number already declared");
+            } else {
+                accepted.add(request);
+                acceptedRows.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            job.recordImported(vehicleService.createVehicleBatch(accepted));
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            // A concurrent declaration won the race for one of the keys; the whole chunk rolled back
+            for (DeclarationRow row : acceptedRows) {
+                job.recordFailure(row.line, row.request.getVehicleId(), "Chunk rejected: " + e.getMessage());
+            }
+        }
+    }
+
+    private Set<String> existing(Set<String> keys, Function<Collection<String>, List<String>> lookup) {
+        return keys.isEmpty() ? Collections.emptySet() : new HashSet<>(lookup.apply(keys));
+    }
+
+    private ManifestReader<CreateVehicleImportRequest> reader() {
+        return new ManifestReader<>(objectMapper, CreateVehicleImportRequest.class, record -> {
+            CreateVehicleImportRequest request = new CreateVehicleImportRequest();
+            request.setVehicleId(record.get("vehicleId"));
+            request.setMake(record.get("make"));
+            request.setModel(record.get("model"));
+            request.setYear(record.getInteger("year"));
+            request.setEngineNumber(record.get("engineNumber"));
+            request.setChassisNumber(record.get("chassisNumber"));
+            request.setOrigin(record.get("origin"));
+            request.setDeclaredValue(record.getDecimal("declaredValue"));
+            request.setEngineCapacity(record.getDecimal("engineCapacity"));
+            request.setFuelType(record.get("fuelType"));
+            request.setColor(record.get("color"));
+            request.setSubmissionDate(record.getDateTime("submissionDate"));
+            request.setRemarks(record.get("remarks"));
+            return request;
+        });
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    private static final class DeclarationRow {
+        private final long line;
+        private final CreateVehicleImportRequest request;
+
+        private DeclarationRow(long line, CreateVehicleImportRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final String submittedBy;
+        private final long bytesTotal;
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final ImportResult result;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String status = "QUEUED";
+        private String message;
+
+        private ImportJob(String id, String fileName, String submittedBy, long bytesTotal, int maxReportedErrors) {
+            this.id = id;
+            this.fileName = fileName;
+            this.submittedBy = submittedBy;
+            this.bytesTotal = bytesTotal;
+            this.result = new ImportResult(maxReportedErrors);
+        }
+
+        synchronized void start() {
+            status = "RUNNING";
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void finish(String finalStatus, String finalMessage) {
+            status = finalStatus;
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void recordRow() {
+            result.recordRow();
+        }
+
+        synchronized void recordImported(int count) {
+            result.recordImported(count);
+        }
+
+        synchronized void recordFailure(long line, String key, String failure) {
+            result.recordFailure(line, key, failure);
+        }
+
+        synchronized long imported() {
+            return result.getImported();
+        }
+
+        synchronized long failed() {
+            return result.getFailed();
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized ImportJobDto snapshot() {
+            ImportJobDto dto = new ImportJobDto();
+            dto.setJobId(id);
+            dto.setStatus(status);
+            dto.setFileName(fileName);
+            dto.setBytesTotal(bytesTotal);
+            long read = Math.min(bytesRead.get(), bytesTotal);
+            dto.setBytesRead(read);
+            dto.setPercentComplete(finishedAt != null || bytesTotal == 0 ? 100 : (int) (read * 100 / bytesTotal));
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setMessage(message);
+            dto.setResult(result.copy());
+            return dto;
+        }
+    }
+
+    // Counts bytes handed to the reader so progress can be reported against the file size
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        private CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+    }
+}
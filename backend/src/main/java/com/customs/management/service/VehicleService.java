@@ -1,21 +1,37 @@
 package com.customs.management.service;
 
+import com.customs.management.dto.CursorPage;
 import com.customs.management.dto.VehicleImportDto;
 import com.customs.management.dto.CreateVehicleImportRequest;
+import com.customs.management.dto.VehicleSearchCriteria;
 import com.customs.management.entity.VehicleImport;
 import com.customs.management.entity.VehicleStatus;
 import com.customs.management.entity.User;
 import com.customs.management.repository.VehicleImportRepository;
+import com.customs.management.repository.VehicleImportSpecifications;
 import com.customs.management.repository.UserRepository;
+import com.customs.management.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -27,21 +43,91 @@ public class VehicleService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StatusCountCache statusCountCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Transactional(readOnly = true)
     public Page<VehicleImportDto> getAllVehicles(Pageable pageable) {
-        return vehicleImportRepository.findAll(pageable)
-                .map(this::convertToDto);
+        return vehicleImportRepository.findAllListView(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<VehicleImportDto> getVehiclesByStatus(VehicleStatus status, Pageable pageable) {
-        return vehicleImportRepository.findByStatus(status, pageable)
+        return vehicleImportRepository.findListViewByStatus(status, pageable);
+    }
+
+    // Infinite-scroll listing: no COUNT query, only whether another page follows
+    @Transactional(readOnly = true)
+    public Slice<VehicleImportDto> getVehiclesSlice(VehicleStatus status, Pageable pageable) {
+        return status == null
+                ? vehicleImportRepository.findListViewSlice(pageable)
+                : vehicleImportRepository.findListViewSliceByStatus(status, pageable);
+    }
+
+    // Paged listing whose total comes from the periodically refreshed status counts
+    @Transactional(readOnly = true)
+    public Page<VehicleImportDto> getVehiclesWithCachedTotal(VehicleStatus status, Pageable pageable) {
+        Slice<VehicleImportDto> slice = getVehiclesSlice(status, pageable);
+        return new PageImpl<>(slice.getContent(), pageable, statusCountCache.getVehicleCount(status));
+    }
+
+    public Map<VehicleStatus, Long> getVehicleStatusCounts() {
+        return statusCountCache.getVehicleCounts();
+    }
+
+    // Seek pagination: no OFFSET scan and no COUNT query, one extra row tells whether more follow
+    @Transactional(readOnly = true)
+    public CursorPage<VehicleImportDto> scrollVehicles(VehicleStatus status, String after, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<VehicleImportDto> rows;
+        if (after == null) {
+            rows = status == null
+                    ? vehicleImportRepository.findListViewFirst(limit)
+                    : vehicleImportRepository.findListViewByStatusFirst(status, limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = status == null
+                    ? vehicleImportRepository.findListViewAfter(cursor.getCreatedAt(), cursor.getId(), limit)
+                    : vehicleImportRepository.findListViewByStatusAfter(status, cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<VehicleImportDto> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            VehicleImportDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, nextCursor, hasNext, size);
+    }
+
+    // One paged query whatever combination of filters is set
+    @Transactional(readOnly = true)
+    public Page<VehicleImportDto> searchVehicles(VehicleSearchCriteria criteria, Pageable pageable) {
+        if (criteria.getYearFrom() != null && criteria.getYearTo() != null && criteria.getYearFrom() > criteria.getYearTo()) {
+            throw new IllegalArgumentException("yearFrom must not be after yearTo");
+        }
+        if (isAfter(criteria.getSubmittedFrom(), criteria.getSubmittedTo())
+                || isAfter(criteria.getCreatedFrom(), criteria.getCreatedTo())) {
+            throw new IllegalArgumentException("Date range start must not be after its end");
+        }
+        return vehicleImportRepository.findAll(VehicleImportSpecifications.matching(criteria), pageable)
                 .map(this::convertToDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<VehicleImportDto> getVehicleById(Long id) {
         return vehicleImportRepository.findById(id)
                 .map(this::convertToDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<VehicleImportDto> getVehicleByVehicleId(String vehicleId) {
         return vehicleImportRepository.findByVehicleId(vehicleId)
                 .map(this::convertToDto);
@@ -53,29 +139,51 @@ public class VehicleService {
             throw new IllegalArgumentException("Vehicle ID already exists: " + request.getVehicleId());
         }
 
-        VehicleImport vehicle = new VehicleImport();
-        vehicle.setVehicleId(request.getVehicleId());
-        vehicle.setMake(request.getMake());
-        vehicle.setModel(request.getModel());
-        vehicle.setYear(request.getYear());
-        vehicle.setEngineNumber(request.getEngineNumber());
-        vehicle.setChassisNumber(request.getChassisNumber());
-        vehicle.setOrigin(request.getOrigin());
-        vehicle.setDeclaredValue(request.getDeclaredValue());
-        vehicle.setEngineCapacity(request.getEngineCapacity());
-        vehicle.setFuelType(request.getFuelType());
-        vehicle.setColor(request.getColor());
-        vehicle.setSubmissionDate(request.getSubmissionDate());
-        vehicle.setRemarks(request.getRemarks());
-        vehicle.setStatus(VehicleStatus.DOCUMENTATION_REVIEW);
-
-        VehicleImport savedVehicle = vehicleImportRepository.save(vehicle);
+        VehicleImport savedVehicle = vehicleImportRepository.save(toEntity(request));
+        statusCountCache.vehiclesCreated(savedVehicle.getStatus(), 1);
         return convertToDto(savedVehicle);
     }
 
+    // Inserts a declaration chunk in one transaction as JDBC batches; callers pre-filter duplicates,
+    // the bulk checks here only guard against concurrent inserts
+    public int createVehicleBatch(List<CreateVehicleImportRequest> requests) {
+        Set<String> vehicleIds = new HashSet<>();
+        Set<String> chassisNumbers = new HashSet<>();
+        Set<String> engineNumbers = new HashSet<>();
+        for (CreateVehicleImportRequest request : requests) {
+            vehicleIds.add(request.getVehicleId());
+            if (request.getChassisNumber() != null) {
+                chassisNumbers.add(request.getChassisNumber());
+            }
+            if (request.getEngineNumber() != null) {
+                engineNumbers.add(request.getEngineNumber());
+            }
+        }
+        if (!vehicleImportRepository.findExistingVehicleIds(vehicleIds).isEmpty()
+                || (!chassisNumbers.isEmpty() && !vehicleImportRepository.findExistingChassisNumbers(chassisNumbers).isEmpty())
+                || (!engineNumbers.isEmpty() && !vehicleImportRepository.findExistingEngineNumbers(engineNumbers).isEmpty())) {
+            throw new IllegalArgumentException("Batch contains vehicles that are already declared");
+        }
+
+        for (int from = 0; from < requests.size(); from += jdbcBatchSize) {
+            List<VehicleImport> entities = new ArrayList<>();
+            for (CreateVehicleImportRequest request : requests.subList(from, Math.min(from + jdbcBatchSize, requests.size()))) {
+                entities.add(toEntity(request));
+            }
+            vehicleImportRepository.saveAll(entities);
+            // Flush each batch and detach it so the persistence context stays small; flushing through the
+            // repository translates a unique-key race into DataIntegrityViolationException
+            vehicleImportRepository.flush();
+            entityManager.clear();
+        }
+        statusCountCache.vehiclesCreated(VehicleStatus.DOCUMENTATION_REVIEW, requests.size());
+        return requests.size();
+    }
+
     public Optional<VehicleImportDto> updateVehicleStatus(Long id, VehicleStatus status) {
         return vehicleImportRepository.findById(id)
                 .map(vehicle -> {
+                    statusCountCache.vehicleStatusChanged(vehicle.getStatus(), status);
                     vehicle.setStatus(status);
                     
                     // Set appropriate dates based on status
@@ -104,6 +212,7 @@ public class VehicleService {
             User inspector = inspectorOpt.get();
             
             vehicle.setInspector(inspector);
+            statusCountCache.vehicleStatusChanged(vehicle.getStatus(), VehicleStatus.UNDER_INSPECTION);
             vehicle.setStatus(VehicleStatus.UNDER_INSPECTION);
             vehicle.setInspectionDate(LocalDateTime.now());
             
@@ -131,6 +240,7 @@ public class VehicleService {
                     // If full duty is paid, update status
                     if (vehicle.getDutyCalculated() != null && 
                         paidAmount.compareTo(vehicle.getDutyCalculated()) >= 0) {
+                        statusCountCache.vehicleStatusChanged(vehicle.getStatus(), VehicleStatus.APPROVED);
                         vehicle.setStatus(VehicleStatus.APPROVED);
                         vehicle.setApprovalDate(LocalDateTime.now());
                     }
@@ -150,11 +260,32 @@ public class VehicleService {
     }
 
     public boolean deleteVehicle(Long id) {
-        if (vehicleImportRepository.existsById(id)) {
-            vehicleImportRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return vehicleImportRepository.findById(id)
+                .map(vehicle -> {
+                    vehicleImportRepository.delete(vehicle);
+                    statusCountCache.vehicleStatusChanged(vehicle.getStatus(), null);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private VehicleImport toEntity(CreateVehicleImportRequest request) {
+        VehicleImport vehicle = new VehicleImport();
+        vehicle.setVehicleId(request.getVehicleId());
+        vehicle.setMake(request.getMake());
+        vehicle.setModel(request.getModel());
+        vehicle.setYear(request.getYear());
+        vehicle.setEngineNumber(request.getEngineNumber());
+        vehicle.setChassisNumber(request.getChassisNumber());
+        vehicle.setOrigin(request.getOrigin());
+        vehicle.setDeclaredValue(request.getDeclaredValue());
+        vehicle.setEngineCapacity(request.getEngineCapacity());
+        vehicle.setFuelType(request.getFuelType());
+        vehicle.setColor(request.getColor());
+        vehicle.setSubmissionDate(request.getSubmissionDate());
+        vehicle.setRemarks(request.getRemarks());
+        vehicle.setStatus(VehicleStatus.DOCUMENTATION_REVIEW);
+        return vehicle;
     }
 
     private VehicleImportDto convertToDto(VehicleImport vehicle) {
@@ -188,4 +319,8 @@ public class VehicleService {
         
         return dto;
     }
+
+    private static boolean isAfter(LocalDate from, LocalDate to) {
+        return from != null && to != null && from.isAfter(to);
+    }
 }
@@ -0,0 +1,29 @@
+package com.customs.management.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pools of named daemon threads with a bounded queue. Submitting to a full pool
+ * throws RejectedExecutionException instead of queueing without limit or running the task
+ * on the caller's thread.
+ */
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {}
+
+    // Threads are named threadNamePrefix-1, threadNamePrefix-2, ...
+    public static ThreadPoolExecutor newFixedDaemonPool(String threadNamePrefix, int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,89 @@
+package com.customs.management.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers. Quoted fields may contain commas, doubled quotes and line
+ * breaks; readers join physical lines while {@link #hasOpenQuote} is true before parsing.
+ * Written fields that a spreadsheet would evaluate as a formula are prefixed with an
+ * apostrophe, which readers remove again with {@link #unguard}.
+ */
+public final class CsvUtils {
+
+    private static final char FORMULA_GUARD = '\'';
+
+    private CsvUtils() {}
+
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // An odd number of quote characters leaves a quoted field open (doubled quotes count twice)
+    public static boolean hasOpenQuote(CharSequence text) {
+        boolean open = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    // Guards formula-like fields, then quotes only when the field contains a separator, quote or line break
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && isGuarded(value.charAt(0))) {
+            value = FORMULA_GUARD + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Strips the apostrophe escape added in front of formula-like fields
+    public static String unguard(String field) {
+        if (field.length() > 1 && field.charAt(0) == FORMULA_GUARD && isGuarded(field.charAt(1))) {
+            return field.substring(1);
+        }
+        return field;
+    }
+
+    // Formula triggers, plus the guard itself so a literal leading apostrophe survives a round trip
+    private static boolean isGuarded(char first) {
+        return first == '=' || first == '+' || first == '-' || first == '@'
+                || first == '\t' || first == '\r' || first == FORMULA_GUARD;
+    }
+}
@@ -1,7 +1,16 @@
 package com.customs.management.util;
 
+import com.customs.management.entity.RoleName;
+import com.customs.management.security.RoleAuthorityRegistry;
+import com.customs.management.security.TokenRevocationService;
+import com.customs.management.security.UserPrincipal;
+import com.customs.management.security.VerifiedToken;
+import com.customs.management.security.VerifiedTokenCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,56 +18,93 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 
 @Component
 public class JwtUtils {
     
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLES = "roles";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // When enabled, tokens carry the user's id and roles so requests can be
+    // authenticated without loading the user from the database
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+    
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorityRegistry;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    // Derived once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
     
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         
+        if (!statelessPrincipal || !(userPrincipal instanceof UserPrincipal)) {
+            return generateJwtToken(userPrincipal.getUsername());
+        }
+        
+        UserPrincipal principal = (UserPrincipal) userPrincipal;
+        Date now = tokenRevocationService.issueTimeFor(principal.getUsername(), new Date());
         return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setSubject(principal.getUsername())
+                .claim(CLAIM_USER_ID, principal.getId())
+                .claim(CLAIM_EMAIL, principal.getEmail())
+                .claim(CLAIM_ROLES, principal.getRoleNames())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
     public String generateJwtToken(String username) {
+        Date now = tokenRevocationService.issueTimeFor(username, new Date());
         return Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
-    
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token signature and expiry and returns its claims, or null if the token is invalid.
+     * Callers should use this instead of validateJwtToken followed by getUserNameFromJwtToken,
+     * which verifies the signature twice.
+     */
+    public Claims parseJwtToken(String authToken) {
+        if (authToken == null) {
+            return null;
+        }
+        
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
+        } catch (SecurityException e) {
+            System.err.println("Invalid JWT signature: " + e.getMessage());
         } catch (MalformedJwtException e) {
             System.err.println("Invalid JWT token: " + e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -68,6 +114,71 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             System.err.println("JWT claims string is empty: " + e.getMessage());
         }
-        return false;
+        return null;
+    }
+    
+    /**
+     * Like parseJwtToken, but returns an immutable view of the token that is safe to share, and
+     * serves tokens seen before from the verified-token cache without checking the signature again.
+     */
+    public VerifiedToken verifyJwtToken(String authToken) {
+        if (authToken == null) {
+            return null;
+        }
+        
+        VerifiedToken cached = verifiedTokenCache.get(authToken);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = parseJwtToken(authToken);
+        if (claims == null) {
+            return null;
+        }
+        
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(),
+                statelessPrincipal ? getPrincipalFromClaims(claims) : null);
+        verifiedTokenCache.put(authToken, verified, claims.getExpiration());
+        return verified;
+    }
+    
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+    
+    /**
+     * Rebuilds the principal embedded in a stateless token, or returns null if the token
+     * was issued without principal claims (e.g. before stateless mode was switched on).
+     */
+    @SuppressWarnings("unchecked")
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<String> roleNames = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roleNames == null) {
+            return null;
+        }
+        
+        EnumSet<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        for (String roleName : roleNames) {
+            try {
+                roles.add(RoleName.valueOf(roleName));
+            } catch (IllegalArgumentException e) {
+                // Role no longer exists, skip it
+            }
+        }
+        
+        // Authorities are expanded from the role masks instead of being carried in the token
+        return UserPrincipal.create(userId.longValue(), claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class), roles, roleAuthorityRegistry.authoritiesFor(roles));
+    }
+    
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+    
+    public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken) != null;
     }
 }
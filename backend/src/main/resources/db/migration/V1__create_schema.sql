@@ -0,0 +1,145 @@
+-- Baseline schema matching the JPA mappings, with indexes for every repository finder
+
+CREATE TABLE authorities (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(500),
+    category    VARCHAR(100)
+);
+
+CREATE TABLE roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(500)
+);
+
+CREATE TABLE role_authorities (
+    role_id      BIGINT NOT NULL REFERENCES roles (id),
+    authority_id BIGINT NOT NULL REFERENCES authorities (id),
+    PRIMARY KEY (role_id, authority_id)
+);
+
+CREATE TABLE users (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                VARCHAR(255) NOT NULL UNIQUE,
+    password                VARCHAR(255) NOT NULL,
+    email                   VARCHAR(255) NOT NULL,
+    first_name              VARCHAR(255),
+    last_name               VARCHAR(255),
+    enabled                 BOOLEAN NOT NULL,
+    account_non_expired     BOOLEAN,
+    account_non_locked      BOOLEAN,
+    credentials_non_expired BOOLEAN,
+    created_at              TIMESTAMP(6),
+    updated_at              TIMESTAMP(6),
+    last_login              TIMESTAMP(6)
+);
+
+CREATE INDEX idx_users_email ON users (email);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+-- Role expansion runs from role to user in admin screens
+CREATE INDEX idx_user_roles_role_id ON user_roles (role_id);
+
+CREATE TABLE password_reset_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token       VARCHAR(255) NOT NULL UNIQUE,
+    user_id     BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    expiry_date TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    used        BOOLEAN
+);
+
+CREATE INDEX idx_password_reset_tokens_expiry_date ON password_reset_tokens (expiry_date);
+
+CREATE TABLE cargo_entries (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cargo_id        VARCHAR(255) NOT NULL UNIQUE,
+    description     VARCHAR(1000) NOT NULL,
+    origin          VARCHAR(255) NOT NULL,
+    destination     VARCHAR(255) NOT NULL,
+    declared_value  NUMERIC(15, 2) NOT NULL,
+    weight          NUMERIC(10, 3),
+    volume          NUMERIC(10, 3),
+    hs_code         VARCHAR(100),
+    status          VARCHAR(255) NOT NULL,
+    arrival_date    TIMESTAMP(6),
+    inspection_date TIMESTAMP(6),
+    clearance_date  TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    inspector_id    BIGINT REFERENCES users (id),
+    remarks         VARCHAR(2000),
+    duty_calculated NUMERIC(15, 2),
+    duty_paid       NUMERIC(15, 2)
+);
+
+-- List pages and keyset scrolling: ORDER BY created_at DESC, id DESC, optionally per status
+CREATE INDEX idx_cargo_entries_created_at_id ON cargo_entries (created_at, id);
+CREATE INDEX idx_cargo_entries_status_created_at_id ON cargo_entries (status, created_at, id);
+-- findByStatusAndArrivalDateAfter
+CREATE INDEX idx_cargo_entries_status_arrival_date ON cargo_entries (status, arrival_date);
+-- findByOrigin
+CREATE INDEX idx_cargo_entries_origin ON cargo_entries (origin);
+-- findByArrivalDateBetween
+CREATE INDEX idx_cargo_entries_arrival_date ON cargo_entries (arrival_date);
+-- findByInspectorId, and the foreign key itself
+CREATE INDEX idx_cargo_entries_inspector_id ON cargo_entries (inspector_id);
+-- Inspector work queues only ever look at entries that are still open
+CREATE INDEX idx_cargo_entries_active_inspector ON cargo_entries (inspector_id, created_at)
+    WHERE status IN ('PENDING_INSPECTION', 'UNDER_INSPECTION', 'INSPECTION_COMPLETED', 'HELD', 'DUTY_PENDING');
+CREATE INDEX idx_cargo_entries_active_arrival_date ON cargo_entries (arrival_date)
+    WHERE status IN ('PENDING_INSPECTION', 'UNDER_INSPECTION', 'INSPECTION_COMPLETED', 'HELD', 'DUTY_PENDING');
+
+CREATE TABLE vehicle_imports (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vehicle_id          VARCHAR(255) NOT NULL UNIQUE,
+    make                VARCHAR(255) NOT NULL,
+    model               VARCHAR(255) NOT NULL,
+    vehicle_year        INTEGER NOT NULL,
+    engine_number       VARCHAR(255),
+    chassis_number      VARCHAR(255),
+    origin              VARCHAR(255) NOT NULL,
+    declared_value      NUMERIC(15, 2) NOT NULL,
+    engine_capacity     NUMERIC(8, 2),
+    fuel_type           VARCHAR(255),
+    color               VARCHAR(255),
+    status              VARCHAR(255) NOT NULL,
+    submission_date     TIMESTAMP(6),
+    inspection_date     TIMESTAMP(6),
+    approval_date       TIMESTAMP(6),
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    inspector_id        BIGINT REFERENCES users (id),
+    remarks             VARCHAR(2000),
+    duty_calculated     NUMERIC(15, 2),
+    duty_paid           NUMERIC(15, 2),
+    registration_number VARCHAR(255)
+);
+
+CREATE INDEX idx_vehicle_imports_created_at_id ON vehicle_imports (created_at, id);
+CREATE INDEX idx_vehicle_imports_status_created_at_id ON vehicle_imports (status, created_at, id);
+-- findByStatusAndSubmissionDateAfter
+CREATE INDEX idx_vehicle_imports_status_submission_date ON vehicle_imports (status, submission_date);
+-- findByOrigin
+CREATE INDEX idx_vehicle_imports_origin ON vehicle_imports (origin);
+-- findByMakeAndModel
+CREATE INDEX idx_vehicle_imports_make_model ON vehicle_imports (make, model);
+-- findBySubmissionDateBetween
+CREATE INDEX idx_vehicle_imports_submission_date ON vehicle_imports (submission_date);
+-- findByInspectorId, and the foreign key itself
+CREATE INDEX idx_vehicle_imports_inspector_id ON vehicle_imports (inspector_id);
+-- findByChassisNumber / findByEngineNumber
+CREATE INDEX idx_vehicle_imports_chassis_number ON vehicle_imports (chassis_number);
+CREATE INDEX idx_vehicle_imports_engine_number ON vehicle_imports (engine_number);
+CREATE INDEX idx_vehicle_imports_active_inspector ON vehicle_imports (inspector_id, created_at)
+    WHERE status IN ('DOCUMENTATION_REVIEW', 'PENDING_INSPECTION', 'UNDER_INSPECTION', 'INSPECTION_COMPLETED',
+                     'APPROVED', 'DUTY_PENDING', 'DUTY_PAID');
+CREATE INDEX idx_vehicle_imports_active_submission_date ON vehicle_imports (submission_date)
+    WHERE status IN ('DOCUMENTATION_REVIEW', 'PENDING_INSPECTION', 'UNDER_INSPECTION', 'INSPECTION_COMPLETED',
+                     'APPROVED', 'DUTY_PENDING', 'DUTY_PAID');
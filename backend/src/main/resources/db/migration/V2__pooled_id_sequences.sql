@@ -0,0 +1,15 @@
+-- Switch users, cargo_entries and vehicle_imports from identity columns to pooled
+-- sequences (allocationSize = 50) so Hibernate can batch inserts
+
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE cargo_entries_seq INCREMENT BY 50;
+CREATE SEQUENCE vehicle_imports_seq INCREMENT BY 50;
+
+-- The pooled optimizer hands out (value - 49 .. value), so start one block above the current maximum
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+SELECT setval('cargo_entries_seq', COALESCE((SELECT MAX(id) FROM cargo_entries), 0) + 50, false);
+SELECT setval('vehicle_imports_seq', COALESCE((SELECT MAX(id) FROM vehicle_imports), 0) + 50, false);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cargo_entries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vehicle_imports ALTER COLUMN id DROP IDENTITY IF EXISTS;
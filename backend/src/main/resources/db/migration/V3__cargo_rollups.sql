@@ -0,0 +1,33 @@
+-- Daily cargo rollups for reports, fed from a change log written with each cargo change
+
+CREATE SEQUENCE cargo_daily_rollups_seq INCREMENT BY 50;
+CREATE SEQUENCE cargo_rollup_changes_seq INCREMENT BY 50;
+
+CREATE TABLE cargo_daily_rollups (
+    id              BIGINT PRIMARY KEY,
+    rollup_day      DATE NOT NULL,
+    origin          VARCHAR(255) NOT NULL,
+    destination     VARCHAR(255) NOT NULL,
+    hs_code         VARCHAR(100) NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    entry_count     BIGINT NOT NULL,
+    declared_value  NUMERIC(19, 2) NOT NULL,
+    duty_calculated NUMERIC(19, 2) NOT NULL,
+    duty_paid       NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT uk_cargo_daily_rollups_key UNIQUE (rollup_day, origin, destination, hs_code, status)
+);
+
+-- Drained oldest-first by id
+CREATE TABLE cargo_rollup_changes (
+    id              BIGINT PRIMARY KEY,
+    rollup_day      DATE NOT NULL,
+    origin          VARCHAR(255) NOT NULL,
+    destination     VARCHAR(255) NOT NULL,
+    hs_code         VARCHAR(100) NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    entry_count     BIGINT NOT NULL,
+    declared_value  NUMERIC(19, 2) NOT NULL,
+    duty_calculated NUMERIC(19, 2) NOT NULL,
+    duty_paid       NUMERIC(19, 2) NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
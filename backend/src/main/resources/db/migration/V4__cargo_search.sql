@@ -0,0 +1,12 @@
+-- Full-text search over cargo descriptions and remarks. The vector is a stored generated
+-- column, so PostgreSQL keeps it current on every insert and update of cargo_entries.
+ALTER TABLE cargo_entries ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(description, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(remarks, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_cargo_entries_search_vector ON cargo_entries USING GIN (search_vector);
+
+-- HS code prefix search (LIKE 'xxxx%') regardless of the database collation
+CREATE INDEX idx_cargo_entries_hs_code_prefix ON cargo_entries (hs_code text_pattern_ops);
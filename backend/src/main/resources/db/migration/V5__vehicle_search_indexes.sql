@@ -0,0 +1,21 @@
+-- Composite indexes for the common GET /vehicles/search filter combinations. Each widens an
+-- existing single-purpose index, so the narrower one is dropped; its queries still match the
+-- leading columns.
+
+-- make [+ model [+ year range]]; also serves findByMakeAndModel
+CREATE INDEX idx_vehicle_imports_make_model_year ON vehicle_imports (make, model, vehicle_year);
+DROP INDEX idx_vehicle_imports_make_model;
+
+-- origin [+ submission date range]; also serves findByOrigin
+CREATE INDEX idx_vehicle_imports_origin_submission_date ON vehicle_imports (origin, submission_date);
+DROP INDEX idx_vehicle_imports_origin;
+
+-- fuel type [+ year range]
+CREATE INDEX idx_vehicle_imports_fuel_type_year ON vehicle_imports (fuel_type, vehicle_year);
+
+-- inspector [+ status]; also serves findByInspectorId and the foreign key
+CREATE INDEX idx_vehicle_imports_inspector_status ON vehicle_imports (inspector_id, status);
+DROP INDEX idx_vehicle_imports_inspector_id;
+
+-- status [+ submission date range] and status [+ created_at ordering] are already covered by
+-- idx_vehicle_imports_status_submission_date and idx_vehicle_imports_status_created_at_id
@@ -0,0 +1,8 @@
+-- Persisted JWT revocations so stateless tokens stay rejected across restarts and instances
+
+CREATE TABLE token_revocations (
+    username   VARCHAR(255) PRIMARY KEY,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
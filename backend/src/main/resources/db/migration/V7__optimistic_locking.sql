@@ -0,0 +1,4 @@
+-- Version columns for optimistic locking of cargo and vehicle updates
+
+ALTER TABLE cargo_entries ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicle_imports ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- No finder filters on inspector or dates restricted to the open statuses, so these partial
+-- indexes were only write overhead. IndexUsageTest checks that every remaining index serves a finder.
+DROP INDEX IF EXISTS idx_cargo_entries_active_inspector;
+DROP INDEX IF EXISTS idx_cargo_entries_active_arrival_date;
+DROP INDEX IF EXISTS idx_vehicle_imports_active_inspector;
+DROP INDEX IF EXISTS idx_vehicle_imports_active_submission_date;
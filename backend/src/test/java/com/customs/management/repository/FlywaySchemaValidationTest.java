@@ -0,0 +1,27 @@
+package com.customs.management.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every migration on PostgreSQL; the context only starts if Hibernate's
+ * ddl-auto=validate accepts the resulting schema for all entities.
+ */
+class FlywaySchemaValidationTest extends PostgresContainerTest {
+    
+    @Autowired
+    private Flyway flyway;
+    
+    @Test
+    void allMigrationsApplyAndMatchTheEntities() {
+        MigrationInfo[] applied = flyway.info().applied();
+        
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(applied).isNotEmpty();
+        assertThat(applied).allSatisfy(migration -> assertThat(migration.getState().isFailed()).isFalse());
+    }
+}
@@ -0,0 +1,154 @@
+package com.customs.management.repository;
+
+import com.customs.management.dto.VehicleSearchCriteria;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.VehicleStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL of each cargo, vehicle and token revocation finder on the migrated
+ * PostgreSQL schema and asserts it is served by the intended index, then checks that no
+ * secondary index on those tables is left without a finder. Sequential scans are disabled
+ * and plans are generic (no bound values), so the result does not depend on table size.
+ */
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.customs.management.repository.RecordingStatementInspector")
+class IndexUsageTest extends PostgresContainerTest {
+    
+    // Served by CargoSearchService's native full-text and HS code prefix queries (CargoFullTextSearchTest)
+    private static final Set<String> SEARCH_INDEXES = Set.of(
+            "idx_cargo_entries_search_vector", "idx_cargo_entries_hs_code_prefix");
+    
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    
+    private final Pageable newestFirst = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+    
+    private final Pageable limit = PageRequest.of(0, 10);
+    
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+    
+    @Autowired
+    private VehicleImportRepository vehicleImportRepository;
+    
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final Set<String> usedIndexes = new HashSet<>();
+    
+    @Test
+    void cargoFindersUseIndexes() {
+        assertUses(() -> cargoEntryRepository.findListViewByStatus(CargoStatus.HELD, newestFirst),
+                "idx_cargo_entries_status_created_at_id");
+        assertUses(() -> cargoEntryRepository.findListViewFirst(limit), "idx_cargo_entries_created_at_id");
+        assertUses(() -> cargoEntryRepository.findListViewAfter(NOW, 1L, limit), "idx_cargo_entries_created_at_id");
+        assertUses(() -> cargoEntryRepository.findListViewByStatusFirst(CargoStatus.HELD, limit),
+                "idx_cargo_entries_status_created_at_id");
+        assertUses(() -> cargoEntryRepository.findListViewByStatusAfter(CargoStatus.HELD, NOW, 1L, limit),
+                "idx_cargo_entries_status_created_at_id");
+        assertUses(() -> cargoEntryRepository.findByStatusAndArrivalDateAfter(CargoStatus.HELD, NOW),
+                "idx_cargo_entries_status_arrival_date");
+        assertUses(() -> cargoEntryRepository.findByStatus(CargoStatus.HELD),
+                "idx_cargo_entries_status_created_at_id", "idx_cargo_entries_status_arrival_date");
+        assertUses(() -> cargoEntryRepository.findByOrigin("Shanghai"), "idx_cargo_entries_origin");
+        assertUses(() -> cargoEntryRepository.findByArrivalDateBetween(NOW.minusDays(1), NOW), "idx_cargo_entries_arrival_date");
+        assertUses(() -> cargoEntryRepository.findByInspectorId(1L), "idx_cargo_entries_inspector_id");
+        assertUses(() -> cargoEntryRepository.findByCargoId("CARGO-1"), "cargo_entries_cargo_id_key");
+        
+        assertNoUnusedIndexes("cargo_entries");
+    }
+    
+    @Test
+    void vehicleFindersUseIndexes() {
+        assertUses(() -> vehicleImportRepository.findListViewByStatus(VehicleStatus.APPROVED, newestFirst),
+                "idx_vehicle_imports_status_created_at_id");
+        assertUses(() -> vehicleImportRepository.findListViewFirst(limit), "idx_vehicle_imports_created_at_id");
+        assertUses(() -> vehicleImportRepository.findListViewAfter(NOW, 1L, limit), "idx_vehicle_imports_created_at_id");
+        assertUses(() -> vehicleImportRepository.findListViewByStatusFirst(VehicleStatus.APPROVED, limit),
+                "idx_vehicle_imports_status_created_at_id");
+        assertUses(() -> vehicleImportRepository.findListViewByStatusAfter(VehicleStatus.APPROVED, NOW, 1L, limit),
+                "idx_vehicle_imports_status_created_at_id");
+        assertUses(() -> vehicleImportRepository.findByStatusAndSubmissionDateAfter(VehicleStatus.APPROVED, NOW),
+                "idx_vehicle_imports_status_submission_date");
+        assertUses(() -> vehicleImportRepository.findByMakeAndModel("Toyota", "Corolla"), "idx_vehicle_imports_make_model_year");
+        assertUses(() -> vehicleImportRepository.findByOrigin("Japan"), "idx_vehicle_imports_origin_submission_date");
+        assertUses(() -> vehicleImportRepository.findBySubmissionDateBetween(NOW.minusDays(1), NOW),
+                "idx_vehicle_imports_submission_date");
+        assertUses(() -> vehicleImportRepository.findByInspectorId(1L), "idx_vehicle_imports_inspector_status");
+        assertUses(() -> vehicleImportRepository.findByChassisNumber("CH-1"), "idx_vehicle_imports_chassis_number");
+        assertUses(() -> vehicleImportRepository.findByEngineNumber("EN-1"), "idx_vehicle_imports_engine_number");
+        assertUses(() -> vehicleImportRepository.findByVehicleId("VEH-1"), "vehicle_imports_vehicle_id_key");
+        
+        VehicleSearchCriteria byFuelType = new VehicleSearchCriteria();
+        byFuelType.setFuelType("Diesel");
+        byFuelType.setYearFrom(2020);
+        assertUses(() -> vehicleImportRepository.findAll(VehicleImportSpecifications.matching(byFuelType), limit),
+                "idx_vehicle_imports_fuel_type_year");
+        
+        assertNoUnusedIndexes("vehicle_imports");
+    }
+    
+    @Test
+    void tokenRevocationFindersUseIndexes() {
+        assertUses(() -> tokenRevocationRepository.findRevokedSince(NOW), "idx_token_revocations_revoked_at");
+        
+        assertNoUnusedIndexes("token_revocations");
+    }
+    
+    // EXPLAINs the first statement the finder runs (the page query, not its count)
+    private void assertUses(Runnable finder, String... acceptedIndexes) {
+        RecordingStatementInspector.clear();
+        finder.run();
+        List<String> statements = RecordingStatementInspector.statements();
+        assertThat(statements).isNotEmpty();
+        String plan = explain(statements.get(0));
+        
+        List<String> used = Arrays.stream(acceptedIndexes).filter(plan::contains).toList();
+        assertThat(used).as("plan of %s%n%s", statements.get(0), plan).isNotEmpty();
+        usedIndexes.addAll(used);
+    }
+    
+    private String explain(String sql) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class));
+    }
+    
+    // Primary keys are excluded: every entity lookup by id uses them
+    private void assertNoUnusedIndexes(String table) {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ? " +
+                "AND indexname <> ? ORDER BY indexname", String.class, table, table + "_pkey");
+        assertThat(indexes).isNotEmpty();
+        
+        Set<String> unused = new HashSet<>(indexes);
+        unused.removeAll(usedIndexes);
+        unused.removeAll(SEARCH_INDEXES);
+        assertThat(unused).as("indexes on %s no finder uses", table).isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package com.customs.management.repository;
+
+import com.customs.management.dto.CargoEntryDto;
+import com.customs.management.dto.VehicleImportDto;
+import com.customs.management.dto.VehicleSearchCriteria;
+import com.customs.management.entity.CargoEntry;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.entity.User;
+import com.customs.management.entity.VehicleImport;
+import com.customs.management.entity.VehicleStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The list endpoints (CargoService/VehicleService) join each row's inspector into the page
+ * query, so the number of statements stays constant however many distinct inspectors the
+ * page references.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListViewStatementCountTest {
+    
+    private static final int ROWS = 15;
+    
+    private final Pageable firstPage = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private CargoEntryRepository cargoEntryRepository;
+    
+    @Autowired
+    private VehicleImportRepository vehicleImportRepository;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        List<User> inspectors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            inspectors.add(entityManager.persist(new User("inspector" + i, "secret", "inspector" + i + "@customs.test", "Inspector", "No. " + i)));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            CargoEntry cargo = new CargoEntry("CARGO-" + i, "Machinery parts", "Shanghai", "Rotterdam", new BigDecimal("1000.00"));
+            cargo.setInspector(inspectors.get(i));
+            entityManager.persist(cargo);
+            
+            VehicleImport vehicle = new VehicleImport("VEH-" + i, "Toyota", "Corolla", 2022, "Japan", new BigDecimal("15000.00"));
+            vehicle.setInspector(inspectors.get(i));
+            entityManager.persist(vehicle);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    // Page select plus count select
+    @Test
+    void cargoListPagesTakeTwoStatements() {
+        assertInspectorsNamed(cargoEntryRepository.findAllListView(firstPage).map(CargoEntryDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        
+        statistics.clear();
+        assertInspectorsNamed(cargoEntryRepository.findListViewByStatus(CargoStatus.PENDING_INSPECTION, firstPage)
+                .map(CargoEntryDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+    
+    // count=none: one select, no count
+    @Test
+    void cargoSlicesTakeOneStatement() {
+        assertInspectorsNamed(cargoEntryRepository.findListViewSlice(firstPage).map(CargoEntryDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void vehicleListPagesTakeTwoStatements() {
+        assertInspectorsNamed(vehicleImportRepository.findAllListView(firstPage).map(VehicleImportDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        
+        statistics.clear();
+        assertInspectorsNamed(vehicleImportRepository.findListViewByStatus(VehicleStatus.DOCUMENTATION_REVIEW, firstPage)
+                .map(VehicleImportDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void vehicleSlicesTakeOneStatement() {
+        assertInspectorsNamed(vehicleImportRepository.findListViewSlice(firstPage).map(VehicleImportDto::getInspectorName));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    // GET /vehicles/search loads entities; the inspector entity graph keeps it at page plus count
+    @Test
+    void vehicleSearchFetchesInspectorsWithThePage() {
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria();
+        criteria.setMake("Toyota");
+        Page<VehicleImport> page = vehicleImportRepository.findAll(VehicleImportSpecifications.matching(criteria), firstPage);
+        
+        assertInspectorsNamed(page.map(vehicle -> vehicle.getInspector().getFirstName()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+    
+    private static void assertInspectorsNamed(Slice<String> names) {
+        assertThat(names.getContent()).hasSize(10).allSatisfy(name -> assertThat(name).startsWith("Inspector"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.customs.management.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate generates so tests can EXPLAIN exactly what a finder runs.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+    
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+    
+    public static void clear() {
+        statements.clear();
+    }
+    
+    public static List<String> statements() {
+        return new ArrayList<>(statements);
+    }
+}
@@ -0,0 +1,92 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CargoEntryDto;
+import com.customs.management.entity.CargoEntry;
+import com.customs.management.repository.PostgresContainerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Full-text path against the V4 generated search_vector column and websearch_to_tsquery.
+ */
+@Import(CargoSearchService.class)
+class CargoFullTextSearchTest extends PostgresContainerTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CargoSearchService cargoSearchService;
+    
+    @BeforeEach
+    void setUp() {
+        persist("CARGO-1", "Steel pipes for offshore drilling", null, "7304190000");
+        persist("CARGO-2", "Copper wire coils", "Packed with steel frames", "7408110000");
+        persist("CARGO-3", "Cotton t-shirts", null, "6109100000");
+        entityManager.flush();
+    }
+    
+    @Test
+    void generatedColumnTracksInsertsAndUpdates() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT search_vector @@ to_tsquery('english', 'drill') FROM cargo_entries WHERE cargo_id = 'CARGO-1'",
+                Boolean.class)).isTrue();
+        
+        jdbcTemplate.update("UPDATE cargo_entries SET remarks = 'Seized for inspection' WHERE cargo_id = 'CARGO-3'");
+        
+        assertThat(search("seized")).containsExactly("CARGO-3");
+    }
+    
+    @Test
+    void ranksDescriptionMatchesAboveRemarks() {
+        // Stemming matches "pipe" against "pipes"; weight A (description) outranks B (remarks)
+        assertThat(search("steel")).containsExactly("CARGO-1", "CARGO-2");
+        assertThat(search("pipe")).containsExactly("CARGO-1");
+    }
+    
+    @Test
+    void supportsWebSearchSyntax() {
+        assertThat(search("\"copper wire\"")).containsExactly("CARGO-2");
+        assertThat(search("steel -copper")).containsExactly("CARGO-1");
+        assertThat(search("cotton or copper")).containsExactlyInAnyOrder("CARGO-2", "CARGO-3");
+    }
+    
+    @Test
+    void combinesTextWithHsCodePrefix() {
+        assertThat(cargoSearchService.search("steel", "7408", PageRequest.of(0, 10)).getContent())
+                .extracting(CargoEntryDto::getCargoId).containsExactly("CARGO-2");
+    }
+    
+    @Test
+    void rejectsTextWithoutSearchableTerms() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> cargoSearchService.search("!!!", null, PageRequest.of(0, 10)));
+    }
+    
+    private List<String> search(String text) {
+        Page<CargoEntryDto> hits = cargoSearchService.search(text, null, PageRequest.of(0, 10));
+        return hits.getContent().stream().map(CargoEntryDto::getCargoId).toList();
+    }
+    
+    private void persist(String cargoId, String description, String remarks, String hsCode) {
+        CargoEntry cargo = new CargoEntry(cargoId, description, "Shanghai", "Rotterdam", new BigDecimal("1000.00"));
+        cargo.setRemarks(remarks);
+        cargo.setHsCode(hsCode);
+        entityManager.persist(cargo);
+    }
+}
@@ -0,0 +1,77 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CargoReportRowDto;
+import com.customs.management.entity.CargoEntry;
+import com.customs.management.entity.CargoStatus;
+import com.customs.management.repository.CargoRollupChangeRepository;
+import com.customs.management.repository.PostgresContainerTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies logged changes through the PostgreSQL ON CONFLICT upsert: repeated deltas for one
+ * key increment the same row, and keys that drop to zero entries are removed.
+ */
+@Import({CargoRollupService.class, CargoRollupRecorder.class})
+class CargoRollupApplyTest extends PostgresContainerTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private CargoRollupRecorder cargoRollupRecorder;
+    
+    @Autowired
+    private CargoRollupService cargoRollupService;
+    
+    @Autowired
+    private CargoRollupChangeRepository cargoRollupChangeRepository;
+    
+    @Test
+    void appliesDeltasAsIncrementsAndDropsEmptiedKeys() {
+        CargoEntry first = persist("CARGO-1", "100.00");
+        cargoRollupRecorder.recordCreated(List.of(first));
+        cargoRollupService.applyChanges();
+        
+        CargoEntry second = persist("CARGO-2", "50.00");
+        cargoRollupRecorder.recordCreated(List.of(second));
+        cargoRollupService.applyChanges();
+        
+        assertThat(summary()).singleElement().satisfies(row -> {
+            assertThat(row.getKey()).isEqualTo("PENDING_INSPECTION");
+            assertThat(row.getEntryCount()).isEqualTo(2);
+            assertThat(row.getDeclaredValue()).isEqualByComparingTo("150.00");
+        });
+        
+        CargoRollupRecorder.Snapshot before = CargoRollupRecorder.snapshot(first);
+        first.setStatus(CargoStatus.CLEARED);
+        cargoRollupRecorder.recordChanged(before, first);
+        before = CargoRollupRecorder.snapshot(second);
+        second.setStatus(CargoStatus.CLEARED);
+        cargoRollupRecorder.recordChanged(before, second);
+        cargoRollupService.applyChanges();
+        
+        assertThat(summary()).singleElement().satisfies(row -> {
+            assertThat(row.getKey()).isEqualTo("CLEARED");
+            assertThat(row.getEntryCount()).isEqualTo(2);
+        });
+        assertThat(cargoRollupChangeRepository.count()).isZero();
+    }
+    
+    private List<CargoReportRowDto> summary() {
+        LocalDate today = LocalDate.now();
+        return cargoRollupService.getSummary("status", today, today, null);
+    }
+    
+    private CargoEntry persist(String cargoId, String declaredValue) {
+        return entityManager.persist(new CargoEntry(cargoId, "Machinery parts", "Shanghai", "Rotterdam", new BigDecimal(declaredValue)));
+    }
+}
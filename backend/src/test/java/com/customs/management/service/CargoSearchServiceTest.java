@@ -0,0 +1,71 @@
+package com.customs.management.service;
+
+import com.customs.management.dto.CargoEntryDto;
+import com.customs.management.entity.CargoEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * LIKE fallback used on H2; CargoFullTextSearchTest covers the PostgreSQL full-text path.
+ */
+@DataJpaTest
+@Import(CargoSearchService.class)
+class CargoSearchServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private CargoSearchService cargoSearchService;
+    
+    @BeforeEach
+    void setUp() {
+        persist("CARGO-1", "Steel pipes for offshore drilling", null, "7304190000");
+        persist("CARGO-2", "Copper wire coils", "Packed with steel frames", "7408110000");
+        persist("CARGO-3", "Cotton t-shirts", null, "6109100000");
+        entityManager.flush();
+    }
+    
+    @Test
+    void matchesEveryTermInDescriptionOrRemarks() {
+        Page<CargoEntryDto> hits = cargoSearchService.search("steel", null, PageRequest.of(0, 10));
+        
+        // Description matches rank ahead of remarks-only matches
+        assertThat(hits.getContent()).extracting(CargoEntryDto::getCargoId).containsExactly("CARGO-1", "CARGO-2");
+        assertThat(cargoSearchService.search("steel PIPES", null, PageRequest.of(0, 10)).getContent())
+                .extracting(CargoEntryDto::getCargoId).containsExactly("CARGO-1");
+    }
+    
+    @Test
+    void filtersByHsCodePrefix() {
+        Page<CargoEntryDto> hits = cargoSearchService.search(null, "74", PageRequest.of(0, 10));
+        
+        assertThat(hits.getContent()).extracting(CargoEntryDto::getCargoId).containsExactly("CARGO-2");
+    }
+    
+    @Test
+    void rejectsTextWithoutSearchableTerms() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> cargoSearchService.search("!!!", null, PageRequest.of(0, 10)));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> cargoSearchService.search("  ", "  ", PageRequest.of(0, 10)));
+    }
+    
+    private void persist(String cargoId, String description, String remarks, String hsCode) {
+        CargoEntry cargo = new CargoEntry(cargoId, description, "Shanghai", "Rotterdam", new BigDecimal("1000.00"));
+        cargo.setRemarks(remarks);
+        cargo.setHsCode(hsCode);
+        entityManager.persist(cargo);
+    }
+}
@@ -0,0 +1,36 @@
+package com.customs.management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvUtilsTest {
+    
+    @Test
+    void prefixesFormulaLikeFields() {
+        assertThat(CsvUtils.escape("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(CsvUtils.escape("+1")).isEqualTo("'+1");
+        assertThat(CsvUtils.escape("-12.50")).isEqualTo("'-12.50");
+        assertThat(CsvUtils.escape("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(CsvUtils.escape("\tcmd")).isEqualTo("'\tcmd");
+        assertThat(CsvUtils.escape("\rcmd")).isEqualTo("\"'\rcmd\"");
+        assertThat(CsvUtils.escape("Steel pipes")).isEqualTo("Steel pipes");
+        assertThat(CsvUtils.escape("a=b")).isEqualTo("a=b");
+    }
+    
+    @Test
+    void escapedFieldsRoundTrip() {
+        List<String> values = List.of("=1+2", "-5", "@x", "\tx", "\rx", "'=quoted", "'", "plain", "a,\"b\"");
+        StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            if (line.length() > 0) {
+                line.append(',');
+            }
+            line.append(CsvUtils.escape(value));
+        }
+        
+        assertThat(CsvUtils.parseLine(line.toString()).stream().map(CsvUtils::unguard)).containsExactlyElementsOf(values);
+    }
+}
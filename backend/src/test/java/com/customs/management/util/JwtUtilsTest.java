@@ -0,0 +1,83 @@
+package com.customs.management.util;
+
+import com.customs.management.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the parser and key JwtUtils builds once at startup against building both per call,
+ * as the filter did before. Each variant runs several rounds and the fastest round is compared,
+ * which keeps the assertion stable on a busy machine.
+ */
+class JwtUtilsTest {
+    
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret";
+    
+    private static final int ITERATIONS = 2_000;
+    
+    private static final int ROUNDS = 5;
+    
+    private JwtUtils jwtUtils;
+    
+    private String token;
+    
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenRevocationService", new TokenRevocationService(null));
+        jwtUtils.init();
+        token = jwtUtils.generateJwtToken("jane.doe");
+    }
+    
+    @Test
+    void parsesWithTheCachedParser() {
+        Claims claims = jwtUtils.parseJwtToken(token);
+        
+        assertThat(claims.getSubject()).isEqualTo("jane.doe");
+        assertThat(jwtUtils.parseJwtToken(token + "x")).isNull();
+    }
+    
+    @Test
+    void cachedParserIsFasterThanBuildingOnePerCall() {
+        long cached = fastestRound(() -> jwtUtils.parseJwtToken(token).getSubject());
+        long perCall = fastestRound(() -> Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject());
+        
+        System.out.printf("JWT parse: cached %d ns/op, per call %d ns/op%n", cached / ITERATIONS, perCall / ITERATIONS);
+        assertThat(cached).isLessThan(perCall);
+    }
+    
+    private long fastestRound(ParseCall call) {
+        // First round warms up the JIT and is discarded
+        run(call);
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            fastest = Math.min(fastest, run(call));
+        }
+        return fastest;
+    }
+    
+    private long run(ParseCall call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(call.subject()).isEqualTo("jane.doe");
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private interface ParseCall {
+        String subject();
+    }
+}